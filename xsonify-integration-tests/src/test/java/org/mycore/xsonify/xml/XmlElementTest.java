@@ -11,6 +11,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class XmlElementTest extends XmlBaseTest {
@@ -36,6 +37,29 @@ public class XmlElementTest extends XmlBaseTest {
         assertEquals(ACCESS_STRING, tempElement.encodeContent(Charset.defaultCharset()));
     }
 
+    @Test
+    public void parseFragment() throws Exception {
+        XmlElement parent = new XmlElement("titleInfo", MODS_NS);
+        parent.setAdditionalNamespace(XLINK_NS);
+        parent.addText("Title: ");
+
+        XmlFragmentParser.getInstance().parseInto("<mods:title xlink:type=\"simple\">Open</mods:title> Access", parent);
+        assertEquals(3, parent.contentCount());
+        XmlElement title = parent.getElements().get(0);
+        assertEquals(MODS_NS, title.getNamespace());
+        assertEquals(0, title.getAdditionalNamespaces().size());
+        assertEquals("simple", title.getAttribute("type", XLINK_NS.uri()));
+        assertEquals(" Access", parent.getTexts().get(1).get());
+        assertEquals("<mods:titleInfo xmlns:mods=\"http://www.loc.gov/mods/v3\" "
+            + "xmlns:xlink=\"http://www.w3.org/1999/xlink\">Title: "
+            + "<mods:title xlink:type=\"simple\">Open</mods:title>Access</mods:titleInfo>", parent.toXml());
+
+        // invalid fragments leave the parent unchanged
+        assertThrows(XmlParseException.class,
+            () -> XmlFragmentParser.getInstance().parseInto("<mods:title>a</mods:title><b>", parent));
+        assertEquals(3, parent.contentCount());
+    }
+
     @Test
     public void getNamespacesLocal() throws ParserConfigurationException, IOException, SAXException, XmlException {
         // mods simple
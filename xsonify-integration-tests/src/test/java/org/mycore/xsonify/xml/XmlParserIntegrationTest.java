@@ -2,10 +2,29 @@ package org.mycore.xsonify.xml;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class XmlParserIntegrationTest extends XmlBaseTest {
 
@@ -76,4 +95,139 @@ public class XmlParserIntegrationTest extends XmlBaseTest {
         assertEquals("<access type=\"public\">Open <b>S</b>ource</access>", access.toXml());
     }
 
+    @Test
+    public void internedNames() throws Exception {
+        XmlDocument xml = getXml("/xml/mods-simple.xml");
+        XmlElement root = xml.getRoot();
+        XmlElement firstTitleInfo = root.getElements().get(0);
+        XmlElement secondTitleInfo = root.getElements().get(1);
+
+        assertSame(firstTitleInfo.getName(), secondTitleInfo.getName());
+        assertSame(root.getNamespace(), firstTitleInfo.getNamespace());
+        assertSame(firstTitleInfo.getExpandedName(), secondTitleInfo.getExpandedName());
+        assertSame(XmlNamespace.XML, firstTitleInfo.getXmlAttribute("xml:lang").getNamespace());
+    }
+
+    @Test
+    public void chunkedCharacters() throws Exception {
+        XmlSaxBuilder builder = new XmlSaxBuilder();
+        builder.startDocument();
+        builder.startElement("", "root", "root", new AttributesImpl());
+        characters(builder, "Open");
+        characters(builder, "\n  ");
+        characters(builder, " ");
+        builder.startElement("", "b", "b", new AttributesImpl());
+        characters(builder, "S");
+        builder.endElement("", "b", "b");
+        characters(builder, "our");
+        characters(builder, "ce");
+        builder.endElement("", "root", "root");
+        builder.endDocument();
+
+        XmlElement root = builder.getDocument().getRoot();
+        assertEquals(3, root.contentCount());
+        assertEquals("Open ", root.getTexts().get(0).get());
+        assertEquals("ource", root.getTexts().get(1).get());
+        assertEquals("<root>Open <b>S</b>ource</root>", root.toXml());
+    }
+
+    @Test
+    public void pooledParser() throws Exception {
+        URL resource = XmlParserIntegrationTest.class.getResource("/xml/openagrar_mods_00084602.xml");
+        String expected = getXml("/xml/openagrar_mods_00084602.xml").toXml(false);
+        XmlPooledSaxParser parser = new XmlPooledSaxParser(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> parser.parse(resource).toXml(false)));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(parser.idleCount() > 0 && parser.idleCount() <= 2);
+
+        // a failed parse must not break the pooled parsers
+        assertThrows(XmlParseException.class,
+            () -> parser.parse(new ByteArrayInputStream("<a>".getBytes())));
+        assertEquals(expected, parser.parse(resource).toXml(false));
+    }
+
+    @Test
+    public void staxParser() throws Exception {
+        XmlParser staxParser = new XmlStaxParser();
+        for (String resource : List.of("/xml/mods-simple.xml", "/xml/openagrar_mods_00084602.xml",
+            "/xml/jportal_jpjournal_00000109.xml", "/xml/bibthk_mods_00005057.xml", "/xml/test.xml")) {
+            XmlDocument expected = getXml(resource);
+            XmlDocument actual = staxParser.parse(XmlParserIntegrationTest.class.getResource(resource));
+            // additional namespaces are in document order, so compare order independent
+            XmlEqualityChecker.EqualityResult result = new XmlEqualityChecker()
+                .equalsWithResult(expected.getRoot(), actual.getRoot());
+            assertTrue(result.isEqual(), () -> resource + ": " + result.getDifference());
+        }
+        assertThrows(XmlParseException.class,
+            () -> staxParser.parse(new ByteArrayInputStream("<a>".getBytes())));
+    }
+
+    @Test
+    public void pathAndBufferSources(@TempDir Path tempDir) throws Exception {
+        URL resource = XmlParserIntegrationTest.class.getResource("/xml/openagrar_mods_00084602.xml");
+        Path path = Path.of(resource.toURI());
+        byte[] bytes = Files.readAllBytes(path);
+        String expected = getXml("/xml/openagrar_mods_00084602.xml").toXml(false);
+        XmlParser parser = new XmlSaxParser();
+
+        assertEquals(expected, parser.parse(path).toXml(false));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertEquals(expected, parser.parse(buffer).toXml(false));
+        assertEquals(0, buffer.position());
+        assertEquals(expected, parser.parse(Channels.newChannel(new ByteArrayInputStream(bytes))).toXml(false));
+
+        // large files are memory-mapped, 1 MiB is above the threshold
+        StringBuilder large = new StringBuilder("<root>");
+        while (large.length() < 1 << 20) {
+            large.append("<entry id=\"").append(large.length()).append("\">text</entry>");
+        }
+        large.append("</root>");
+        Path largePath = tempDir.resolve("large.xml");
+        Files.writeString(largePath, large, StandardCharsets.UTF_8);
+        assertEquals(large.toString(), parser.parse(largePath).toXml(false));
+    }
+
+    @Test
+    public void loadFileUris(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("loader.xml");
+        Files.writeString(path, "<root><a>text</a></root>", StandardCharsets.UTF_8);
+        XmlEntityResolverDocumentLoader loader = new XmlEntityResolverDocumentLoader(
+            (publicId, systemId) -> new InputSource(systemId), new XmlSaxParser());
+        String uri = path.toUri().toString();
+        String localhostUri = "file://localhost" + path.toUri().getRawPath();
+
+        assertEquals("<root><a>text</a></root>", loader.load(uri).toXml(false));
+        // Path.of doesn't accept these, they are loaded as url
+        assertEquals("<root><a>text</a></root>", loader.load(localhostUri).toXml(false));
+        assertEquals("<root><a>text</a></root>", loader.load(uri + "#fragment").toXml(false));
+    }
+
+    @Test
+    public void normalizeTextWhileParsing() throws Exception {
+        URL resource = XmlParserIntegrationTest.class.getResource("/xml/mods-simple.xml");
+        XmlDocument xml = new XmlSaxParser().setNormalizeText(true).parse(resource);
+        XmlElement access = xml.getRoot().getElements().get(3).getElements().get(0);
+        assertEquals("Open", access.getTexts().get(0).get());
+        assertEquals(getXml("/xml/mods-simple.xml").getRoot().getElements().get(0).getTextNormalized(),
+            xml.getRoot().getElements().get(0).getText());
+
+        // the pooled parser supports the same option
+        XmlDocument pooled = new XmlPooledSaxParser(1, true).parse(resource);
+        assertEquals(xml.toXml(false), pooled.toXml(false));
+    }
+
+    private static void characters(XmlSaxBuilder builder, String text) {
+        builder.characters(text.toCharArray(), 0, text.length());
+    }
+
 }
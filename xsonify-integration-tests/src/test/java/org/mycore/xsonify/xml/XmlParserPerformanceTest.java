@@ -2,68 +2,77 @@ package org.mycore.xsonify.xml;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 @Disabled
 public class XmlParserPerformanceTest {
 
-    private static final String TEST_XML = "openagrar_mods_00084602.xml";
+    private static final List<String> TEST_XML = List.of(
+        "/xml/mods-simple.xml",
+        "/xml/openagrar_mods_00084602.xml",
+        "/xml/jportal_jpjournal_00000109.xml",
+        "/xml/bibthk_mods_00005057.xml",
+        "/xml/test.xml");
     private static final int WARMUP_ITERATIONS = 1000;
     private static final int TEST_ITERATIONS = 20000;
 
-    private URL xmlUrl;
+    private List<byte[]> corpus;
 
     @BeforeEach
-    public void setUp() {
-        xmlUrl = this.getClass().getClassLoader().getResource(TEST_XML);
-        if (xmlUrl == null) {
-            throw new IllegalStateException("Test XML file not found");
-        }
-    }
-/*
-    @Test
-    @Timeout(60)
-    public void testXmlSaxParser() throws Exception {
-        XmlParser parser = new XmlSaxParser();
-        // warmup
-        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
-            try (InputStream is = xmlUrl.openStream()) {
-                parser.parse(is);
+    public void setUp() throws Exception {
+        corpus = new ArrayList<>();
+        for (String resourceName : TEST_XML) {
+            URL xmlUrl = this.getClass().getResource(resourceName);
+            if (xmlUrl == null) {
+                throw new IllegalStateException("Test XML file not found " + resourceName);
             }
-        }
-        // test
-        long start = System.currentTimeMillis();
-        for (int i = 0; i < TEST_ITERATIONS; i++) {
             try (InputStream is = xmlUrl.openStream()) {
-                parser.parse(is);
+                corpus.add(is.readAllBytes());
             }
         }
-        long end = System.currentTimeMillis();
-        System.out.println("XmlSaxParser time (ms): " + (end - start));
     }
-*/
-    /*
+
+    @Test
+    @Timeout(120)
+    public void testXmlSaxParser() throws Exception {
+        run("XmlSaxParser", new XmlSaxParser());
+    }
+
+    @Test
+    @Timeout(120)
+    public void testXmlPooledSaxParser() throws Exception {
+        run("XmlPooledSaxParser", new XmlPooledSaxParser());
+    }
+
     @Test
-    @Timeout(60)
-    public void testJdomSaxBuilder() throws Exception {
-        SAXBuilder saxBuilder = new SAXBuilder();
+    @Timeout(120)
+    public void testXmlStaxParser() throws Exception {
+        run("XmlStaxParser", new XmlStaxParser());
+    }
+
+    private void run(String name, XmlParser parser) throws Exception {
         // warmup
-        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
-            try (InputStream is = xmlUrl.openStream()) {
-                saxBuilder.build(is);
-            }
-        }
+        parseCorpus(parser, WARMUP_ITERATIONS);
         // test
         long start = System.currentTimeMillis();
-        for (int i = 0; i < TEST_ITERATIONS; i++) {
-            try (InputStream is = xmlUrl.openStream()) {
-                saxBuilder.build(is);
+        parseCorpus(parser, TEST_ITERATIONS);
+        long end = System.currentTimeMillis();
+        System.out.println(name + " time (ms): " + (end - start));
+    }
+
+    private void parseCorpus(XmlParser parser, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] xml : corpus) {
+                parser.parse(new ByteArrayInputStream(xml));
             }
         }
-        long end = System.currentTimeMillis();
-        System.out.println("JDOM SAXBuilder time (ms): " + (end - start));
     }
-     */
 
 }
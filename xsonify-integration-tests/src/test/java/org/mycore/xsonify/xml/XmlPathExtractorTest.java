@@ -0,0 +1,87 @@
+package org.mycore.xsonify.xml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class XmlPathExtractorTest extends XmlBaseTest {
+
+    private static final Map<String, XmlNamespace> NAMESPACES = Map.of("mods", MODS_NS, "xlink", XLINK_NS);
+
+    private static final String MODS = "/mycoreobject/metadata/def.modsContainer/modsContainer/mods:mods";
+
+    @Test
+    public void sameAsDocumentQueries() throws Exception {
+        XmlPath titlePath = XmlPath.of(MODS + "/mods:titleInfo/mods:title", NAMESPACES);
+        XmlPath namePartPath = XmlPath.of(MODS + "/mods:name/mods:namePart", NAMESPACES);
+        XmlPath nameTypePath = XmlPath.of(MODS + "/mods:name/@type", NAMESPACES);
+        XmlPath xlinkTypePath = XmlPath.of(MODS + "/mods:name/@xlink:type", NAMESPACES);
+        XmlPathExtractor extractor = new XmlPathExtractor.Builder()
+            .first("title", titlePath)
+            .all("titles", titlePath)
+            .all("nameParts", namePartPath)
+            .all("nameTypes", nameTypePath)
+            .first("xlinkType", xlinkTypePath)
+            .first("missing", XmlPath.of(MODS + "/mods:missing", NAMESPACES))
+            .build();
+
+        XmlPathExtractor.Result result;
+        try (InputStream inputStream = getClass().getResourceAsStream("/xml/openagrar_mods_00084602.xml")) {
+            result = extractor.extract(inputStream);
+        }
+        XmlDocument document = getXml("/xml/openagrar_mods_00084602.xml");
+
+        List<String> titles = document.queryElements(titlePath).stream().map(XmlElement::getText).toList();
+        assertEquals(titles.get(0), result.get("title"));
+        assertEquals(titles, result.getAll("titles"));
+        assertEquals(document.queryElements(namePartPath).stream().map(XmlElement::getText).toList(),
+            result.getAll("nameParts"));
+        assertEquals(document.queryAttributes(nameTypePath), result.getAll("nameTypes"));
+        assertEquals("simple", result.get("xlinkType"));
+        assertNull(result.get("missing"));
+        assertTrue(result.getAll("missing").isEmpty());
+    }
+
+    @Test
+    public void ignoresWhitespaceLikeTheParser() throws Exception {
+        XmlPath path = XmlPath.of("/root/a");
+        XmlPathExtractor extractor = new XmlPathExtractor.Builder().all("a", path).build();
+        String xml = "<root><a>\n  <b/>\n  text\n  <b/>\n</a><a> </a><a>\n</a></root>";
+        XmlPathExtractor.Result result = extractor.extract(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        XmlDocument document = new XmlSaxParser().parse(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(document.queryElements(path).stream().map(XmlElement::getText).toList(), result.getAll("a"));
+        assertEquals(List.of("\n  text\n  ", " ", ""), result.getAll("a"));
+    }
+
+    @Test
+    public void stopsWhenAllTargetsAreFound() throws Exception {
+        XmlPathExtractor extractor = new XmlPathExtractor.Builder()
+            .first("a", XmlPath.of("/root/a"))
+            .first("b", XmlPath.of("/root/b/@id"))
+            .build();
+        // the document is not well-formed after the matches
+        String xml = "<root><b id=\"1\"/><a>text<c>nested</c>!</a><a>second</a><broken></root>";
+        XmlPathExtractor.Result result = extractor.extract(
+            new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("text!", result.get("a"));
+        assertEquals("1", result.get("b"));
+
+        // multi-valued targets read the whole document
+        XmlPathExtractor allExtractor = new XmlPathExtractor.Builder().all("a", XmlPath.of("/root/a")).build();
+        assertThrows(XmlParseException.class,
+            () -> allExtractor.extract(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.mycore.xsonify.xml;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class XmlWriterTest extends XmlBaseTest {
+
+    @Test
+    public void sameLayoutAsToXml() throws Exception {
+        for (String resource : List.of("/xml/mods-simple.xml", "/xml/openagrar_mods_00084602.xml",
+            "/xml/jportal_jpjournal_00000109.xml", "/xml/test.xml")) {
+            XmlDocument document = getXml(resource);
+            assertEquals(document.toXml(false), write(document, false), resource);
+            assertEquals(document.toXml(true), write(document, true), resource);
+        }
+    }
+
+    @Test
+    public void escaping() throws Exception {
+        XmlElement root = new XmlElement("root");
+        root.setAttribute("title", "\"Tom\" & <Jerry>\n", XmlNamespace.EMPTY);
+        root.addText("a < b && c > d");
+        XmlDocument document = new XmlDocument();
+        document.setRoot(root);
+
+        String xml = write(document, false);
+        assertEquals("<root title=\"&quot;Tom&quot; &amp; &lt;Jerry&gt;&#10;\">a &lt; b &amp;&amp; c &gt; d</root>",
+            xml);
+
+        // round trip
+        XmlDocument parsed = new XmlSaxParser().parse(new ByteArrayInputStream(
+            xml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("\"Tom\" & <Jerry>\n", parsed.getRoot().getAttribute("title"));
+        assertEquals("a < b && c > d", parsed.getRoot().getText());
+    }
+
+    @Test
+    public void elementDeclaresNamespacesInScope() throws Exception {
+        XmlDocument mods = getXml("/xml/mods-simple.xml");
+        XmlElement title = mods.getRoot().getElements().get(0).getElements().get(0);
+
+        StringWriter writer = new StringWriter();
+        try (XmlWriter xmlWriter = new XmlWriter(writer)) {
+            xmlWriter.write(title);
+        }
+        assertEquals("<mods:title xmlns:mods=\"http://www.loc.gov/mods/v3\">"
+            + "DINI-Zertifikat für Open-Access-Repositorien und -Publikationsdienste 2013</mods:title>",
+            writer.toString());
+    }
+
+    @Test
+    public void encodeDecodeContent() throws Exception {
+        XmlElement element = new XmlElement("p");
+        element.addText("Fish & ");
+        XmlElement b = new XmlElement("b");
+        b.addText("Chips");
+        element.addElement(b);
+
+        String encoded = element.encodeContent(StandardCharsets.UTF_8);
+        assertEquals("Fish &amp; <b>Chips</b>", encoded);
+
+        XmlElement decoded = new XmlElement("p");
+        decoded.addAll(XmlElement.decodeContent(encoded, StandardCharsets.UTF_8));
+        assertEquals("Fish & ", decoded.getTexts().get(0).get());
+        assertEquals(encoded, decoded.encodeContent(StandardCharsets.UTF_8));
+    }
+
+    private static String write(XmlDocument document, boolean pretty) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XmlWriter xmlWriter = new XmlWriter(outputStream).setPretty(pretty)) {
+            xmlWriter.write(document);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,12 +1,16 @@
 package org.mycore.xsonify.xsd;
 
 import org.junit.jupiter.api.Test;
+import org.mycore.xsonify.xml.XmlExpandedName;
+import org.mycore.xsonify.xsd.node.XsdComplexType;
 import org.mycore.xsonify.xsd.node.XsdElement;
+import org.mycore.xsonify.xsd.node.XsdExtension;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class XsdNodeTest extends XsdBaseTest {
@@ -26,6 +30,44 @@ public class XsdNodeTest extends XsdBaseTest {
         assertEquals(4, child.collectElements().size());
     }
 
+    @Test
+    public void collectElementsByLocalName() throws Exception {
+        Xsd xsd = getXsd("test.xsd");
+        XsdElement root = xsd.getNamedNode(XsdElement.class, "root", "https://test.com/v1");
+
+        // unambiguous, the reference is resolved
+        List<XsdElement> parents = root.collectElements("parent");
+        assertEquals(1, parents.size());
+        assertSame(xsd.getNamedNode(XsdElement.class, "parent", "https://test.com/element"), parents.get(0));
+
+        // same local name in two namespaces
+        List<XsdElement> includeA = root.collectElements("includeA");
+        assertEquals(2, includeA.size());
+        assertEquals("https://test.com/redefine", includeA.get(0).getUri());
+        assertEquals("https://test.com/v1", includeA.get(1).getUri());
+
+        assertTrue(root.collectElements("unknown").isEmpty());
+    }
+
+    @Test
+    public void collectExtensionElements() throws Exception {
+        Xsd xsd = getXsd("extensionTest.xsd");
+
+        XsdElement extensionTest = xsd.getNamedNode(XsdElement.class, "elementExtensionTest",
+            "https://test.com/extension");
+        List<XsdElement> elements = extensionTest.collectElements();
+        assertEquals(3, elements.size());
+
+        // the base content comes first and is shared with the base type instead of being copied
+        XsdComplexType baseType = xsd.getNamedNode(XsdComplexType.class, "elementType",
+            "https://test.com/simpleElement");
+        XsdExtension extension = xsd.collect(XsdExtension.class).iterator().next();
+        assertSame(baseType, extension.getLinkedBase());
+        assertSame(baseType, elements.get(0).getParent().getParent());
+        assertEquals("element2", elements.get(1).getLocalName());
+        assertEquals("subExtension", elements.get(2).getLocalName());
+    }
+
     @Test
     public void collectAttributes() throws Exception {
         Xsd modsXsd = getXsd("mods-3-8.xsd");
@@ -43,6 +85,31 @@ public class XsdNodeTest extends XsdBaseTest {
         assertEquals(3, mycoreobject.collectAttributes().size());
     }
 
+    @Test
+    public void collectFixedAttributes() throws Exception {
+        Xsd journalXsd = getXsd("datamodel-jpjournal.xsd");
+        XsdElement derobject = journalXsd.getNamedNode(XsdElement.class, "derobject");
+        List<XsdElement.FixedAttribute> fixedAttributes = derobject.collectFixedAttributes();
+        assertEquals(2, fixedAttributes.size());
+        assertEquals(new XmlExpandedName("inherited", ""), fixedAttributes.get(0).name());
+        assertEquals("0", fixedAttributes.get(0).value());
+        // the fixed value is defined on the reference
+        assertEquals(new XmlExpandedName("type", "http://www.w3.org/1999/xlink"), fixedAttributes.get(1).name());
+        assertEquals("locator", fixedAttributes.get(1).value());
+
+        XsdElement mycoreobject = journalXsd.getNamedNode(XsdElement.class, "mycoreobject");
+        assertTrue(mycoreobject.collectFixedAttributes().isEmpty());
+    }
+
+    @Test
+    public void getNamespacesInScope() throws Exception {
+        Xsd modsXsd = getXsd("mods-3-8.xsd");
+        XsdElement mods = modsXsd.getNamedNode(XsdElement.class, "mods", "http://www.loc.gov/mods/v3");
+        assertEquals("http://www.w3.org/1999/xlink", mods.getNamespacesInScope().get("xlink").uri());
+        assertEquals("http://www.loc.gov/mods/v3", mods.getNamespacesInScope().get("").uri());
+        assertSame(mods.getNamespacesInScope(), mods.getNamespacesInScope());
+    }
+
     @Test
     public void hasAny() throws Exception {
         Xsd modsXsd = getXsd("mods-3-8.xsd");
@@ -34,21 +34,18 @@ public class XsdParserIntegrationTest extends XsdBaseTest {
 
         assertEquals(247, modsCounter.get(XsdElement.TYPE).get());
         assertEquals(61, modsCounter.get(XsdComplexType.TYPE).get());
-        // 30
+        // 25
         // - 20 in mods
-        // - 6 due to extensions -> temporalDefinition & dateOtherDefinition
         // - 5 from xml namespace & xlink namespace
-        assertEquals(20 + 6 + 5, modsCounter.get(XsdSimpleType.TYPE).get());
+        // extensions share the content of their base, nothing is copied
+        assertEquals(20 + 5, modsCounter.get(XsdSimpleType.TYPE).get());
         assertEquals(3, modsCounter.get(XsdGroup.TYPE).get());
         assertEquals(0, modsCounter.get(XsdAll.TYPE).get());
         assertEquals(16, modsCounter.get(XsdChoice.TYPE).get());
-        // an additional xs:sequence is copied from xs:extension
-        assertEquals(11, modsCounter.get(XsdSequence.TYPE).get());
-        // an additional xs:any is copied from xs:extension
-        assertEquals(2, modsCounter.get(XsdAny.TYPE).get());
+        assertEquals(10, modsCounter.get(XsdSequence.TYPE).get());
+        assertEquals(1, modsCounter.get(XsdAny.TYPE).get());
         assertEquals(1, modsCounter.get(XsdComplexContent.TYPE).get());
-        // 36 + 52 due to extensions
-        assertEquals(36 + 52, modsCounter.get(XsdSimpleContent.TYPE).get());
+        assertEquals(36, modsCounter.get(XsdSimpleContent.TYPE).get());
     }
 
     @Test
@@ -74,12 +71,12 @@ public class XsdParserIntegrationTest extends XsdBaseTest {
         // - includes includeTestA
         // - includes includeTestB
         // - includes sameNameTestA
-        assertEquals(108, counter.get(XsdElement.TYPE).get());
-        assertEquals(33, counter.get(XsdComplexType.TYPE).get());
+        assertEquals(106, counter.get(XsdElement.TYPE).get());
+        assertEquals(34, counter.get(XsdComplexType.TYPE).get());
         assertEquals(0, counter.get(XsdSimpleType.TYPE).get());
         assertEquals(6, counter.get(XsdGroup.TYPE).get());
         assertEquals(0, counter.get(XsdAll.TYPE).get());
-        assertEquals(29, counter.get(XsdChoice.TYPE).get());
+        assertEquals(27, counter.get(XsdChoice.TYPE).get());
         assertEquals(5, counter.get(XsdSequence.TYPE).get());
         assertEquals(5, counter.get(XsdComplexContent.TYPE).get());
         assertEquals(0, counter.get(XsdSimpleContent.TYPE).get());
@@ -98,10 +95,10 @@ public class XsdParserIntegrationTest extends XsdBaseTest {
         // - includes includeTestA
         // - includes includeTestB
         // - includes sameNameTestB
-        assertEquals(108, counter.get(XsdElement.TYPE).get());
-        assertEquals(33, counter.get(XsdComplexType.TYPE).get());
+        assertEquals(106, counter.get(XsdElement.TYPE).get());
+        assertEquals(34, counter.get(XsdComplexType.TYPE).get());
         assertEquals(6, counter.get(XsdGroup.TYPE).get());
-        assertEquals(29, counter.get(XsdChoice.TYPE).get());
+        assertEquals(27, counter.get(XsdChoice.TYPE).get());
     }
 
     @Test
@@ -127,10 +124,10 @@ public class XsdParserIntegrationTest extends XsdBaseTest {
 
         // https://test.com/extension
         // - extends childType in elementTest.xsd
-        assertEquals(8, counter.get(XsdElement.TYPE).get());
+        assertEquals(6, counter.get(XsdElement.TYPE).get());
         assertEquals(3, counter.get(XsdComplexType.TYPE).get());
         assertEquals(2, counter.get(XsdSequence.TYPE).get());
-        assertEquals(3, counter.get(XsdChoice.TYPE).get());
+        assertEquals(1, counter.get(XsdChoice.TYPE).get());
         assertEquals(2, counter.get(XsdExtension.TYPE).get());
     }
 
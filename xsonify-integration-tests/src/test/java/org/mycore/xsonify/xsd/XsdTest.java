@@ -6,8 +6,13 @@ import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mycore.xsonify.xml.XmlBaseTest.MODS_NS;
 
 public class XsdTest extends XsdBaseTest {
@@ -24,4 +29,19 @@ public class XsdTest extends XsdBaseTest {
         assertEquals(XmlNamespace.EMPTY.uri(), journalXsd.getTargetNamespace());
     }
 
+    @Test
+    public void collectNamespaces() throws IOException, ParserConfigurationException, SAXException, XsdParseException {
+        Xsd modsXsd = getXsd("mods-3-8.xsd");
+        LinkedHashMap<String, LinkedHashSet<XmlNamespace>> namespaces = modsXsd.collectNamespaces();
+        XmlNamespace xlink = new XmlNamespace("xlink", "http://www.w3.org/1999/xlink");
+        assertTrue(namespaces.get("xlink").contains(xlink));
+        namespaces.forEach((prefix, namespaceSet) -> assertEquals(namespaceSet, modsXsd.collectNamespaces(prefix)));
+        assertNull(modsXsd.collectNamespaces("unknownPrefix"));
+
+        // the index is not affected by changes of the returned map
+        namespaces.get("xlink").clear();
+        assertTrue(modsXsd.collectNamespaces("xlink").contains(xlink));
+        assertThrows(UnsupportedOperationException.class, () -> modsXsd.collectNamespaces("xlink").clear());
+    }
+
 }
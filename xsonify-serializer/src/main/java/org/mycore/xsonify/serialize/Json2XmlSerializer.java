@@ -1,8 +1,9 @@
 package org.mycore.xsonify.serialize;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,11 +16,11 @@ import org.mycore.xsonify.serialize.SerializerSettings.FixedAttributeHandling;
 import org.mycore.xsonify.serialize.SerializerSettings.NamespaceDeclaration;
 import org.mycore.xsonify.serialize.SerializerSettings.PrefixHandling;
 import org.mycore.xsonify.serialize.SerializerSettings.XsAnyNamespaceStrategy;
-import org.mycore.xsonify.xml.XmlContent;
 import org.mycore.xsonify.xml.XmlDocument;
 import org.mycore.xsonify.xml.XmlElement;
 import org.mycore.xsonify.xml.XmlException;
 import org.mycore.xsonify.xml.XmlExpandedName;
+import org.mycore.xsonify.xml.XmlFragmentParser;
 import org.mycore.xsonify.xml.XmlName;
 import org.mycore.xsonify.xml.XmlNamespace;
 import org.mycore.xsonify.xml.XmlNamespaceDeclarationAncestorStrategy;
@@ -162,13 +163,14 @@ public class Json2XmlSerializer extends SerializerBase {
         SerializationNode jsonNode;
         XsdElement xsdElement;
         SerializationContext context;
+        NamespaceScope namespaceScope = new NamespaceScope(getDefaultNamespaceMap());
         if (xmlName != null) {
             jsonNode = toJsonNode(xmlName.qualifiedName().toString(), jsonValue);
             xsdElement = xsd().getNamedNode(XsdElement.class, xmlName);
             if (xsdElement == null) {
                 throw new SerializationException("Unable to find root node '" + xmlName + "' in xsd definition");
             }
-            context = new SerializationContext(null, xsdElement, jsonNode);
+            context = new SerializationContext(namespaceScope, xsdElement, jsonNode);
         } else {
             String jsonKey = getRootName(json);
             jsonNode = toJsonNode(jsonKey, jsonValue);
@@ -181,7 +183,7 @@ public class Json2XmlSerializer extends SerializerBase {
             if (xsdElement == null) {
                 throw new SerializationException("Unable to find root node '" + localName + "' in xsd definition");
             }
-            context = new SerializationContext(null, xsdElement, jsonNode);
+            context = new SerializationContext(namespaceScope, xsdElement, jsonNode);
             xmlName = getName(context);
         }
         return createXmlDocument(xmlName, context);
@@ -258,9 +260,7 @@ public class Json2XmlSerializer extends SerializerBase {
         if (mixedContent.isValueNode()) {
             String contentAsString = mixedContent.asText();
             try {
-                List<XmlContent> xmlContentList = XmlElement.decodeContent(contentAsString, StandardCharsets.UTF_8,
-                    parentElement.getNamespacesInScope().values());
-                xmlContentList.forEach(parentElement::add);
+                XmlFragmentParser.getInstance().parseInto(contentAsString, parentElement);
             } catch (Exception exc) {
                 throw new SerializationException("Unable to serialize mixed content: " + contentAsString, exc);
             }
@@ -323,15 +323,22 @@ public class Json2XmlSerializer extends SerializerBase {
         handleAttributes(context);
         handleText(context);
 
-        // mixed content
-        JsonNode mixedContent = context.jsonNode().getMixedContent();
-        if (mixedContent != null) {
-            serializeMixedContent(mixedContent, context);
-            return;
-        }
+        // the namespaces of this element are in scope of its children
+        NamespaceScope namespaceScope = context.namespaceScope();
+        namespaceScope.push(context.element());
+        try {
+            // mixed content
+            JsonNode mixedContent = context.jsonNode().getMixedContent();
+            if (mixedContent != null) {
+                serializeMixedContent(mixedContent, context);
+                return;
+            }
 
-        // children
-        handleChildren(context);
+            // children
+            handleChildren(context);
+        } finally {
+            namespaceScope.pop();
+        }
     }
 
     private void handleAdditionalNamespaces(SerializationContext context) {
@@ -353,15 +360,15 @@ public class Json2XmlSerializer extends SerializerBase {
         // fixed attributes
         XsdElement xsdElement = context.xsdElement();
         if (FixedAttributeHandling.OMIT_IN_JSON.equals(settings().fixedAttributeHandling()) && xsdElement != null) {
-            List<XsdAttribute> fixedAttributeList = xsdElement.collectAttributes().stream()
-                .filter(XsdAttribute::hasFixedValue)
-                .map(XsdAttribute::getReferenceOrSelf)
-                .toList();
-            for (XsdAttribute fixedAttribute : fixedAttributeList) {
-                XmlNamespace namespace = getNamespaceForUri(fixedAttribute.getUri(), context);
-                XmlQualifiedName name = new XmlQualifiedName(namespace.prefix(), fixedAttribute.getLocalName());
-                String fixedValue = fixedAttribute.getFixedValue();
-                handleAttribute(context, name.toString(), fixedValue);
+            XmlElement element = context.element();
+            String elementNamespaceUri = element.getNamespace().uri();
+            for (XsdElement.FixedAttribute fixedAttribute : xsdElement.collectFixedAttributes()) {
+                String uri = fixedAttribute.name().uri();
+                XmlNamespace namespace = getNamespaceForUri(uri, context);
+                if (namespace.prefix().isEmpty() && elementNamespaceUri.equals(uri)) {
+                    namespace = XmlNamespace.EMPTY;
+                }
+                element.setAttribute(fixedAttribute.name().local(), fixedAttribute.value(), namespace);
             }
         }
         // json attributes
@@ -380,7 +387,7 @@ public class Json2XmlSerializer extends SerializerBase {
             String[] split = attributeName.split(":");
             String prefix = split[0];
             String localName = split[1];
-            XmlNamespace namespace = getNamespace(element, prefix);
+            XmlNamespace namespace = getNamespace(context, prefix);
             if (namespace == null) {
                 throw new SerializationException(
                     "Undeclared attribute '" + prefix + "' namespace prefix found. Please add" +
@@ -408,7 +415,7 @@ public class Json2XmlSerializer extends SerializerBase {
         XmlQualifiedName qualifiedName = XmlQualifiedName.of(attributeName);
         // prefix available, get the xsdAttribute by looking up expanded name
         if (qualifiedName.hasPrefix()) {
-            XmlNamespace attributeNamespace = getNamespace(element, qualifiedName.prefix());
+            XmlNamespace attributeNamespace = getNamespace(context, qualifiedName.prefix());
             XmlExpandedName attributeExpandedName = new XmlExpandedName(attributeName, attributeNamespace.uri());
             XsdAttribute xsdAttribute = context.xsdElement().getXsdAttribute(attributeExpandedName);
             if (xsdAttribute == null) {
@@ -468,9 +475,8 @@ public class Json2XmlSerializer extends SerializerBase {
     }
 
     /**
-     * Searches the namespace map and the context for a namespace based on the given uri.
-     * TODO: be aware that this uses getInheritedNamespaces() if xmlElement. If switched to retain order of elements
-     *  using the context nodes, this will not work! Have to go through the context instead of the elements.
+     * Searches the namespace map and the namespaces in scope of the parent element for a namespace based on the
+     * given uri.
      *
      * @param context current context
      * @param uri     uri of the namespace
@@ -480,24 +486,16 @@ public class Json2XmlSerializer extends SerializerBase {
         if (uri == null || uri.isEmpty()) {
             return XmlNamespace.EMPTY;
         }
+        NamespaceScope namespaceScope = context.namespaceScope();
         // check preset
-        XmlNamespace namespace = getDefaultNamespaceMap().values().stream()
-            .filter(xmlNamespace -> xmlNamespace.uri().equals(uri))
-            .findFirst()
-            .orElse(null);
+        XmlNamespace namespace = namespaceScope.getPresetNamespaceForUri(uri);
         if (namespace != null) {
             return namespace;
         }
         // check parent elements with same uri
-        XmlElement parentElement = context.getParentElement();
-        if (parentElement != null) {
-            namespace = parentElement.getNamespacesInScope().values().stream()
-                .filter(ns -> uri.equals(ns.uri()))
-                .findFirst()
-                .orElse(null);
-            if (namespace != null) {
-                return namespace;
-            }
+        namespace = namespaceScope.getNamespaceForUri(uri);
+        if (namespace != null) {
+            return namespace;
         }
         return new XmlNamespace(XmlNamespace.EMPTY.prefix(), uri);
     }
@@ -552,11 +550,7 @@ public class Json2XmlSerializer extends SerializerBase {
             return null;
         }
         // collect
-        List<XsdElement> candidates = parentContext.xsdElement().collectElements().stream()
-            .map(XsdElement::getReferenceOrSelf)
-            .filter(xsdChildNode -> xsdChildNode.getLocalName().equals(localName))
-            .distinct()
-            .toList();
+        List<XsdElement> candidates = parentContext.xsdElement().collectElements(localName);
         if (candidates.isEmpty()) {
             // in case the parent element has a xs:any element
             if (parentContext.xsdElement().hasAny()) {
@@ -654,10 +648,8 @@ public class Json2XmlSerializer extends SerializerBase {
             }
         }
         // check parent element
-        XmlElement parentElement = parentContext != null ? parentContext.element : null;
-        if (parentElement != null) {
-            namespace = parentElement.getNamespace(prefix);
-            return namespace;
+        if (parentContext != null && parentContext.element != null) {
+            return parentContext.namespaceScope().getNamespace(prefix);
         }
         return null;
     }
@@ -677,9 +669,10 @@ public class Json2XmlSerializer extends SerializerBase {
         return new XmlNamespace(prefix, uri);
     }
 
-    private XmlNamespace getNamespace(XmlElement element, String prefix) throws SerializationException {
+    private XmlNamespace getNamespace(SerializationContext context, String prefix) throws SerializationException {
+        XmlElement element = context.element();
         // check namespace of element
-        XmlNamespace namespace = element.getNamespace(prefix);
+        XmlNamespace namespace = context.namespaceScope().getNamespace(element, prefix);
         if (namespace != null) {
             return namespace;
         }
@@ -688,7 +681,11 @@ public class Json2XmlSerializer extends SerializerBase {
         if (namespace != null) {
             return namespace;
         }
-        // check xsd
+        // check xsd, the xsd element of the context is already resolved
+        XsdElement xsdElement = context.xsdElement();
+        if (xsdElement != null) {
+            return xsdElement.getNamespacesInScope().get(prefix);
+        }
         try {
             XsdElement node = xsd().resolveXmlElement(element);
             return node.getElement().getNamespacesInScope().get(prefix);
@@ -700,14 +697,26 @@ public class Json2XmlSerializer extends SerializerBase {
     private static final class SerializationContext {
 
         private final SerializationContext parentContext;
+        private final NamespaceScope namespaceScope;
         private final XsdElement xsdElement;
         private final SerializationNode serializationNode;
         private final List<SerializationContext> children;
         private XmlElement element;
 
+        private SerializationContext(NamespaceScope namespaceScope, XsdElement xsdElement,
+            SerializationNode serializationNode) {
+            this(null, namespaceScope, xsdElement, serializationNode);
+        }
+
         private SerializationContext(SerializationContext parentContext, XsdElement xsdElement,
             SerializationNode serializationNode) {
+            this(parentContext, parentContext.namespaceScope, xsdElement, serializationNode);
+        }
+
+        private SerializationContext(SerializationContext parentContext, NamespaceScope namespaceScope,
+            XsdElement xsdElement, SerializationNode serializationNode) {
             this.parentContext = parentContext;
+            this.namespaceScope = namespaceScope;
             this.xsdElement = xsdElement;
             this.serializationNode = serializationNode;
             this.children = new ArrayList<>();
@@ -738,6 +747,10 @@ public class Json2XmlSerializer extends SerializerBase {
             return element;
         }
 
+        public NamespaceScope namespaceScope() {
+            return namespaceScope;
+        }
+
         public XsdElement xsdElement() {
             return xsdElement;
         }
@@ -766,6 +779,184 @@ public class Json2XmlSerializer extends SerializerBase {
 
     }
 
+    /**
+     * <p>Namespace bindings of the elements on the current path of the serialization. The namespaces of an element
+     * are pushed before its children are serialized and popped afterward, so a lookup by prefix or uri is a map
+     * access instead of a walk over the in scope namespaces of the parent element.</p>
+     *
+     * <p>Like {@link XmlElement#getNamespacesInScope()}, the first local namespace of a prefix wins and inner
+     * elements shadow their ancestors. A uri resolves to the innermost namespace with this uri. Only if the prefix of
+     * this namespace is redeclared further down, the in scope namespaces of the parent element are searched.</p>
+     *
+     * <p>The scope also holds the preset namespaces of the serializer by uri.</p>
+     */
+    private static final class NamespaceScope {
+
+        private final Map<String, XmlNamespace> presetByUri;
+
+        private final Map<String, XmlNamespace> byPrefix;
+
+        private final Map<String, XmlNamespace> byUri;
+
+        private final List<Binding> undo;
+
+        private final ArrayDeque<Integer> marks;
+
+        private final ArrayDeque<XmlElement> elements;
+
+        private NamespaceScope(Map<String, XmlNamespace> presets) {
+            this.presetByUri = new HashMap<>();
+            presets.values().forEach(namespace -> this.presetByUri.putIfAbsent(namespace.uri(), namespace));
+            this.byPrefix = new HashMap<>();
+            this.byUri = new HashMap<>();
+            this.undo = new ArrayList<>();
+            this.marks = new ArrayDeque<>();
+            this.elements = new ArrayDeque<>();
+        }
+
+        /**
+         * Adds the local namespaces of the element to the scope.
+         *
+         * @param element the element whose children are serialized next
+         */
+        public void push(XmlElement element) {
+            int mark = undo.size();
+            marks.push(mark);
+            elements.push(element);
+            XmlNamespace elementNamespace = element.getNamespace();
+            if (!XmlNamespace.EMPTY.equals(elementNamespace)) {
+                bind(elementNamespace, mark);
+            }
+            for (XmlNamespace additionalNamespace : element.getAdditionalNamespaces()) {
+                bind(additionalNamespace, mark);
+            }
+            for (int i = 0; i < element.attributeCount(); i++) {
+                XmlNamespace attributeNamespace = element.attributeAt(i).getNamespace();
+                if (!XmlNamespace.EMPTY.equals(attributeNamespace)) {
+                    bind(attributeNamespace, mark);
+                }
+            }
+        }
+
+        /**
+         * Restores the scope before the last {@link #push(XmlElement)}.
+         */
+        public void pop() {
+            int mark = marks.pop();
+            elements.pop();
+            for (int i = undo.size() - 1; i >= mark; i--) {
+                Binding binding = undo.remove(i);
+                Map<String, XmlNamespace> map = binding.byUri() ? byUri : byPrefix;
+                if (binding.previous() == null) {
+                    map.remove(binding.key());
+                } else {
+                    map.put(binding.key(), binding.previous());
+                }
+            }
+        }
+
+        public XmlNamespace getPresetNamespaceForUri(String uri) {
+            return presetByUri.get(uri);
+        }
+
+        /**
+         * Returns the namespace of the prefix in scope of the last pushed element.
+         *
+         * @param prefix the prefix
+         * @return the namespace or null
+         */
+        public XmlNamespace getNamespace(String prefix) {
+            XmlNamespace namespace = byPrefix.get(prefix);
+            return namespace != null ? namespace : XmlNamespace.getDefaultNamespace(prefix);
+        }
+
+        /**
+         * Returns the namespace of the prefix in scope of the given element, which is a child of the last pushed
+         * element and not pushed itself.
+         *
+         * @param element the element
+         * @param prefix  the prefix
+         * @return the namespace or null
+         */
+        public XmlNamespace getNamespace(XmlElement element, String prefix) {
+            if (XmlNamespace.XML.prefix().equals(prefix)) {
+                return XmlNamespace.XML;
+            }
+            XmlNamespace elementNamespace = element.getNamespace();
+            if (!XmlNamespace.EMPTY.equals(elementNamespace) && elementNamespace.prefix().equals(prefix)) {
+                return elementNamespace;
+            }
+            XmlNamespace additionalNamespace = element.getAdditionalNamespace(prefix);
+            if (additionalNamespace != null) {
+                return additionalNamespace;
+            }
+            for (int i = 0; i < element.attributeCount(); i++) {
+                XmlNamespace attributeNamespace = element.attributeAt(i).getNamespace();
+                if (!XmlNamespace.EMPTY.equals(attributeNamespace) && attributeNamespace.prefix().equals(prefix)) {
+                    return attributeNamespace;
+                }
+            }
+            return getNamespace(prefix);
+        }
+
+        /**
+         * Returns the first namespace with the given uri in scope of the last pushed element.
+         *
+         * @param uri the namespace uri
+         * @return the namespace or null
+         */
+        public XmlNamespace getNamespaceForUri(String uri) {
+            XmlElement parentElement = elements.peek();
+            if (parentElement == null) {
+                return null;
+            }
+            if (XmlNamespace.XML.uri().equals(uri)) {
+                return XmlNamespace.XML;
+            }
+            XmlNamespace namespace = byUri.get(uri);
+            if (namespace == null || namespace.equals(byPrefix.get(namespace.prefix()))) {
+                return namespace;
+            }
+            // the prefix is redeclared by a descendant, another prefix may still be bound to the uri
+            return parentElement.getNamespacesInScope().values().stream()
+                .filter(ns -> uri.equals(ns.uri()))
+                .findFirst()
+                .orElse(null);
+        }
+
+        private void bind(XmlNamespace namespace, int mark) {
+            String prefix = namespace.prefix();
+            // the xml prefix can't be rebound
+            if (XmlNamespace.XML.prefix().equals(prefix)) {
+                return;
+            }
+            // the first local namespace of a prefix and of a uri wins
+            if (!isBound(false, prefix, mark)) {
+                undo.add(new Binding(false, prefix, byPrefix.put(prefix, namespace)));
+            }
+            if (!isBound(true, namespace.uri(), mark)) {
+                undo.add(new Binding(true, namespace.uri(), byUri.put(namespace.uri(), namespace)));
+            }
+        }
+
+        private boolean isBound(boolean byUri, String key, int mark) {
+            for (int i = mark; i < undo.size(); i++) {
+                Binding binding = undo.get(i);
+                if (binding.byUri() == byUri && binding.key().equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * A replaced binding of the prefix or uri map, the previous namespace is null if there was none.
+         */
+        private record Binding(boolean byUri, String key, XmlNamespace previous) {
+        }
+
+    }
+
     private static class SerializationNode {
 
         private final XmlQualifiedName name;
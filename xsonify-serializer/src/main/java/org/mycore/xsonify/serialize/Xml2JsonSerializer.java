@@ -164,11 +164,11 @@ public class Xml2JsonSerializer extends SerializerBase {
         if (hasPlainText(context)) {
             XsdJsonPrimitiveDetector.JsonPrimitive jsonPrimitive = jsonPrimitiveDetector().detect(
                 XmlPath.of(xmlElement));
-            String text = xmlElement.getTextNormalized();
             SerializationContext parentContext = context.parentContext();
             switch (jsonPrimitive) {
-                case BOOLEAN -> parentContext.json().put(propertyName, Boolean.parseBoolean(text));
-                case NUMBER -> parentContext.json().put(propertyName, new BigDecimal(text));
+                case BOOLEAN -> parentContext.json().put(propertyName,
+                    Boolean.parseBoolean(xmlElement.getTextNormalized()));
+                case NUMBER -> parentContext.json().put(propertyName, new BigDecimal(xmlElement.getTextNormalized()));
                 case STRING -> parentContext.json().put(propertyName, getText(xmlElement));
             }
             return null;
@@ -183,10 +183,9 @@ public class Xml2JsonSerializer extends SerializerBase {
         if (hasPlainText(context)) {
             XsdJsonPrimitiveDetector.JsonPrimitive jsonPrimitive = jsonPrimitiveDetector().detect(
                 XmlPath.of(xmlElement));
-            String text = xmlElement.getTextNormalized();
             switch (jsonPrimitive) {
-                case BOOLEAN -> jsonArray.add(Boolean.parseBoolean(text));
-                case NUMBER -> jsonArray.add(new BigDecimal(text));
+                case BOOLEAN -> jsonArray.add(Boolean.parseBoolean(xmlElement.getTextNormalized()));
+                case NUMBER -> jsonArray.add(new BigDecimal(xmlElement.getTextNormalized()));
                 case STRING -> jsonArray.add(getText(xmlElement));
             }
             return;
@@ -327,10 +326,10 @@ public class Xml2JsonSerializer extends SerializerBase {
     private void handleText(SerializationContext context) throws XsdDetectorException {
         XsdJsonPrimitiveDetector.JsonPrimitive jsonPrimitive = jsonPrimitiveDetector().detect(
             XmlPath.of(context.xmlElement()));
-        String text = context.xmlElement().getTextNormalized();
+        XmlElement xmlElement = context.xmlElement();
         switch (jsonPrimitive) {
-            case BOOLEAN -> context.json().put(style().textKey(), Boolean.parseBoolean(text));
-            case NUMBER -> context.json().put(style().textKey(), new BigDecimal(text));
+            case BOOLEAN -> context.json().put(style().textKey(), Boolean.parseBoolean(xmlElement.getTextNormalized()));
+            case NUMBER -> context.json().put(style().textKey(), new BigDecimal(xmlElement.getTextNormalized()));
             case STRING -> context.json().put(style().textKey(), getText(context.xmlElement()));
         }
     }
@@ -397,7 +396,7 @@ public class Xml2JsonSerializer extends SerializerBase {
                 }
             }
         } else {
-            for (XmlContent childContent : context.xmlElement().getContent()) {
+            for (XmlContent childContent : context.xmlElement().getContentView()) {
                 if (childContent instanceof XmlElement) {
                     serializeMixedContentElement(context, (XmlElement) childContent, content);
                 } else if (childContent instanceof XmlText) {
@@ -524,7 +523,7 @@ public class Xml2JsonSerializer extends SerializerBase {
 
         private void buildChildren() throws XsdDetectorException {
             this.children = new ArrayList<>();
-            for (XmlElement childElement : xmlElement.getElements()) {
+            for (XmlElement childElement : xmlElement.getElementsView()) {
                 SerializationContext childContext = new SerializationContext(childElement, this);
                 this.children.add(childContext);
             }
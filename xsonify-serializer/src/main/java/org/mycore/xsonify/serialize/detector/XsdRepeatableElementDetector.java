@@ -17,9 +17,11 @@ import org.mycore.xsonify.xsd.node.XsdRestriction;
 import org.mycore.xsonify.xsd.node.XsdSequence;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +38,8 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
 
     private final Map<XsdNode, Map<XsdNode, Boolean>> rep;
 
+    private final Set<Node> analyzedComplexTypes;
+
     /**
      * Initializes a new instance of {@link XsdRepeatableElementDetector} using the provided XSD schema.
      *
@@ -45,6 +49,7 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
     public XsdRepeatableElementDetector(Xsd xsd) throws XsdDetectorException {
         this.root = createRoot(xsd);
         this.rep = new LinkedHashMap<>();
+        this.analyzedComplexTypes = new HashSet<>();
         create(xsd);
     }
 
@@ -122,7 +127,7 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
         }
         // complex types
         for (Node complexTypeNode : this.root.getComplexTypeNodes()) {
-            handleRootComplexType(xsd, complexTypeNode);
+            handleRootComplexType(complexTypeNode);
         }
         // groups
         for (Node groupNode : this.root.getGroupNodes()) {
@@ -146,8 +151,11 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
         }
     }
 
-    private void handleRootComplexType(Xsd xsd, Node node) throws XsdDetectorException {
-        XsdComplexType xsdComplexType = xsd.getNamedNode(XsdComplexType.class, node.getName());
+    private void handleRootComplexType(Node node) throws XsdDetectorException {
+        if (!this.analyzedComplexTypes.add(node)) {
+            return;
+        }
+        XsdComplexType xsdComplexType = (XsdComplexType) node.xsdNode;
         for (XsdNode xsdChildNode : xsdComplexType.getChildren()) {
             create(xsdChildNode, node, false);
         }
@@ -180,19 +188,43 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
             }
             return;
         }
+        // extension -> the base content is shared by reference
+        if (xsdNode instanceof XsdExtension extension) {
+            createExtensionBase(extension, elementNode, forceRepeatable);
+        }
         // resolve children
         for (XsdNode xsdChildNode : xsdNode.getChildren()) {
             create(xsdChildNode, elementNode, forceRepeatable);
         }
     }
 
+    private void createExtensionBase(XsdExtension extension, Node elementNode, boolean forceRepeatable)
+        throws XsdDetectorException {
+        XsdDatatype base = extension.getLinkedBase();
+        if (!(base instanceof XsdComplexType)) {
+            // we don't care for simple types
+            return;
+        }
+        Node complexTypeNode = this.root.getComplexTypeNode(base.getName());
+        if (complexTypeNode != null && complexTypeNode.xsdNode == base) {
+            // named base -> analyzed only once, but before the extension content checks against it
+            handleRootComplexType(complexTypeNode);
+            elementNode.put(complexTypeNode.getName(), new RepeatableInfo(complexTypeNode, forceRepeatable));
+            return;
+        }
+        // the base is no longer a named node (e.g. replaced by a xs:redefine)
+        for (XsdNode xsdChildNode : base.getChildren()) {
+            create(xsdChildNode, elementNode, forceRepeatable);
+        }
+    }
+
     private void createElement(XsdElement xsdElement, Node elementNode, boolean forceRepeatable)
         throws XsdDetectorException {
         XsdElement reference = xsdElement.getReference();
         XsdDatatype datatype = xsdElement.getDatatype();
         if (reference != null) {
             Node globalElementNode = this.root.getElementNode(xsdElement.getReference().getName());
-            boolean hasSameNodeAlready = elementNode.has(globalElementNode.getName());
+            boolean hasSameNodeAlready = hasElement(elementNode, globalElementNode.getName());
             elementNode.put(globalElementNode.getName(),
                 new RepeatableInfo(globalElementNode, hasSameNodeAlready || forceRepeatable));
 
@@ -221,6 +253,27 @@ public class XsdRepeatableElementDetector implements XsdDetector<Boolean> {
         }
     }
 
+    /**
+     * Checks if the given node already declares an element with the given name. The content of linked extension
+     * bases is shared by reference, so the names declared there are checked as well.
+     *
+     * @param node the node to check
+     * @param name the element name
+     * @return true if the element is declared in the node or in one of its extension bases
+     */
+    private boolean hasElement(Node node, XmlExpandedName name) {
+        if (node.has(name)) {
+            return true;
+        }
+        for (RepeatableInfo repeatableInfo : node.children().values()) {
+            Node childNode = repeatableInfo.node();
+            if (XsdComplexType.TYPE.equals(childNode.getType()) && hasElement(childNode, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Integer getMaxOccurs(XsdNode xsdNode) throws XsdDetectorException {
         // maxOccurs is set
         String maxOccurs = xsdNode.getAttribute("maxOccurs");
@@ -0,0 +1,36 @@
+package org.mycore.xsonify.serialize.detector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mycore.xsonify.xml.XmlNamespace;
+import org.mycore.xsonify.xsd.Xsd;
+import org.mycore.xsonify.xsd.XsdParseException;
+import org.mycore.xsonify.xsd.XsdUtil;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.util.Map;
+
+public class XsdRepeatableElementDetectorTest {
+
+    private final static XmlNamespace NS = new XmlNamespace("", "https://test.com/repeatableElementDetectorTest");
+
+    private final static Map<String, XmlNamespace> NS_MAP = Map.of("", NS);
+
+    @Test
+    public void detectAcrossExtensionBase()
+        throws ParserConfigurationException, SAXException, XsdDetectorException, XsdParseException {
+        Xsd xsd = XsdUtil.getXsdFromResource("repeatableElementDetectorTest.xsd");
+        XsdRepeatableElementDetector detector = new XsdRepeatableElementDetector(xsd);
+
+        // book - note is declared in the base and in the extension
+        Assertions.assertTrue(detector.detect("/book/note", NS_MAP));
+        Assertions.assertFalse(detector.detect("/book/title", NS_MAP));
+
+        // article - note is declared in the base of the base
+        Assertions.assertTrue(detector.detect("/article/note", NS_MAP));
+        Assertions.assertFalse(detector.detect("/article/title", NS_MAP));
+        Assertions.assertFalse(detector.detect("/article/subtitle", NS_MAP));
+    }
+
+}
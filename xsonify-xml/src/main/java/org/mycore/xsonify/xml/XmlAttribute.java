@@ -24,7 +24,17 @@ public class XmlAttribute {
      * @param namespace The namespace of the attribute.
      */
     public XmlAttribute(String localName, String value, XmlNamespace namespace) {
-        this.name = new XmlName(localName, namespace);
+        this(new XmlName(localName, namespace), value);
+    }
+
+    /**
+     * Constructs a new XmlAttribute with the given name and value.
+     *
+     * @param name  The name of the attribute.
+     * @param value The value of the attribute.
+     */
+    public XmlAttribute(XmlName name, String value) {
+        this.name = Objects.requireNonNull(name);
         this.value = value;
     }
 
@@ -0,0 +1,51 @@
+package org.mycore.xsonify.xml;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>{@link InputStream} which reads the remaining bytes of a {@link ByteBuffer}.</p>
+ *
+ * <p>Bytes are copied straight from the buffer into the array of the reader, so heap, direct and memory-mapped
+ * buffers can be handed to a parser without an intermediate stream copy. The position of the given buffer is not
+ * changed.</p>
+ */
+final class XmlByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    XmlByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+}
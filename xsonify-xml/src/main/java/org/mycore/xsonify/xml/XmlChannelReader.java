@@ -0,0 +1,54 @@
+package org.mycore.xsonify.xml;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * <p>Reads the XML content of a channel for {@link XmlParser#parse(ReadableByteChannel)}.</p>
+ *
+ * <p>The remaining content of a {@link FileChannel} is read into a heap buffer at once, or memory-mapped if it is
+ * large. Content which can't be mapped into a single buffer, and all other channels, are streamed.</p>
+ */
+final class XmlChannelReader {
+
+    /**
+     * Files of at least this size are memory-mapped, smaller files are read at once.
+     */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private XmlChannelReader() {
+    }
+
+    /**
+     * Parses the XML content of the channel. The channel is not closed.
+     *
+     * @param parser  the parser to use
+     * @param channel the channel from which XML data is read
+     * @return the parsed XmlDocument
+     * @throws XmlParseException if an error occurs during parsing of the XML data
+     * @throws IOException if an I/O error occurs when reading from the channel
+     */
+    static XmlDocument parse(XmlParser parser, ReadableByteChannel channel) throws XmlParseException, IOException {
+        if (!(channel instanceof FileChannel fileChannel)) {
+            return parser.parse(Channels.newInputStream(channel));
+        }
+        long position = fileChannel.position();
+        long size = fileChannel.size() - position;
+        if (size > Integer.MAX_VALUE) {
+            // a mapped buffer is limited to 2 GiB
+            return parser.parse(Channels.newInputStream(channel));
+        }
+        if (size >= MAP_THRESHOLD) {
+            return parser.parse(fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && fileChannel.read(buffer) != -1) {
+            // read the whole file
+        }
+        return parser.parse(buffer.flip());
+    }
+
+}
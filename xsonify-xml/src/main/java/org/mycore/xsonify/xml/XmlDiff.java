@@ -0,0 +1,323 @@
+package org.mycore.xsonify.xml;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Computes the structural differences between two versions of an {@link XmlElement} tree.</p>
+ *
+ * <p>The result is a list of {@link Change}s which transforms the old tree into the new one: inserted, deleted and
+ * moved content as well as changed texts, attributes and namespace declarations. Subtrees are compared by their
+ * {@link XmlDigester} digests, identical subtrees are skipped without descending into them. Changed elements are
+ * paired by name and compared recursively.</p>
+ *
+ * <p>The content of two paired elements is matched in three steps:</p>
+ * <ol>
+ *   <li>content with the same digest is paired in document order; this content is unchanged</li>
+ *   <li>remaining elements are paired with the next remaining element of the same name, remaining texts with the
+ *   next remaining text; for these the differences are reported</li>
+ *   <li>unpaired old content is deleted, unpaired new content is inserted</li>
+ * </ol>
+ * <p>Paired content which is not part of the longest sequence keeping its relative order is reported as moved. If
+ * the digester ignores the order, no moves are reported.</p>
+ *
+ * <p>The comparison runs in linear time with respect to the number of compared nodes, apart from the move detection
+ * which is O(n log n) per element. The edit script is small, but not guaranteed to be minimal.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ *   List&lt;XmlDiff.Change&gt; changes = new XmlDiff().diff(oldRecord.getRoot(), newRecord.getRoot());
+ * </pre>
+ */
+public class XmlDiff {
+
+    /**
+     * Type of change.
+     */
+    public enum Type {
+        /**
+         * Content was inserted at {@link Change#newIndex()}.
+         */
+        INSERT,
+        /**
+         * Content was deleted from {@link Change#oldIndex()}.
+         */
+        DELETE,
+        /**
+         * Content was moved from {@link Change#oldIndex()} to {@link Change#newIndex()}.
+         */
+        MOVE,
+        /**
+         * A text node changed its value.
+         */
+        TEXT,
+        /**
+         * An attribute was added, removed or changed its value. Missing values are null.
+         */
+        ATTRIBUTE,
+        /**
+         * An additional namespace declaration was added, removed or changed. The values are the declarations, e.g.
+         * {@code xmlns:mods="http://www.loc.gov/mods/v3"}.
+         */
+        NAMESPACE
+    }
+
+    /**
+     * A single change.
+     *
+     * @param type     the type of the change
+     * @param path     the path of the changed element or attribute; for texts and namespace declarations the path of
+     *                 the element which contains them
+     * @param oldIndex position in the content of the old parent element or -1
+     * @param newIndex position in the content of the new parent element or -1
+     * @param content  the inserted, deleted, moved or changed content; for attribute and namespace changes the
+     *                 element of the new tree which carries them
+     * @param oldValue the old text, attribute value or namespace declaration, otherwise null
+     * @param newValue the new text, attribute value or namespace declaration, otherwise null
+     */
+    public record Change(Type type, XmlPath path, int oldIndex, int newIndex, XmlContent content, String oldValue,
+        String newValue) {
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(type.name()).append(' ').append(path);
+            if (oldIndex >= 0 || newIndex >= 0) {
+                sb.append(" [").append(oldIndex).append(" -> ").append(newIndex).append(']');
+            }
+            if (oldValue != null || newValue != null) {
+                sb.append(" '").append(oldValue).append("' -> '").append(newValue).append('\'');
+            }
+            return sb.toString();
+        }
+
+    }
+
+    private final XmlDigester digester;
+
+    /**
+     * Creates a new diff engine with a default {@link XmlDigester}.
+     */
+    public XmlDiff() {
+        this(new XmlDigester());
+    }
+
+    /**
+     * Creates a new diff engine. The settings of the digester decide which differences are relevant.
+     *
+     * @param digester the digester used to compare subtrees
+     */
+    public XmlDiff(XmlDigester digester) {
+        this.digester = Objects.requireNonNull(digester);
+    }
+
+    /**
+     * Computes the changes which transform the old element into the new element.
+     *
+     * @param oldElement the old version
+     * @param newElement the new version
+     * @return the list of changes, empty if both elements are equal
+     */
+    public List<Change> diff(XmlElement oldElement, XmlElement newElement) {
+        List<Change> changes = new ArrayList<>();
+        if (!nameKey(oldElement).equals(nameKey(newElement))) {
+            changes.add(new Change(Type.DELETE, XmlPath.of(oldElement), -1, -1, oldElement, null, null));
+            changes.add(new Change(Type.INSERT, XmlPath.of(newElement), -1, -1, newElement, null, null));
+            return changes;
+        }
+        diffElement(oldElement, newElement, changes);
+        return changes;
+    }
+
+    private void diffElement(XmlElement oldElement, XmlElement newElement, List<Change> changes) {
+        if (digester.digest(oldElement) == digester.digest(newElement)) {
+            return;
+        }
+        if (!digester.isIgnoreAdditionalNamespaces()) {
+            diffNamespaces(oldElement, newElement, changes);
+        }
+        diffAttributes(oldElement, newElement, changes);
+        diffContent(oldElement, newElement, changes);
+    }
+
+    private void diffNamespaces(XmlElement oldElement, XmlElement newElement, List<Change> changes) {
+        for (XmlNamespace oldNamespace : oldElement.getAdditionalNamespacesView()) {
+            XmlNamespace newNamespace = newElement.getAdditionalNamespace(oldNamespace.prefix());
+            if (!oldNamespace.equals(newNamespace)) {
+                changes.add(new Change(Type.NAMESPACE, XmlPath.of(newElement), -1, -1, newElement,
+                    oldNamespace.toString(), newNamespace != null ? newNamespace.toString() : null));
+            }
+        }
+        for (XmlNamespace newNamespace : newElement.getAdditionalNamespacesView()) {
+            if (oldElement.getAdditionalNamespace(newNamespace.prefix()) == null) {
+                changes.add(new Change(Type.NAMESPACE, XmlPath.of(newElement), -1, -1, newElement,
+                    null, newNamespace.toString()));
+            }
+        }
+    }
+
+    private void diffAttributes(XmlElement oldElement, XmlElement newElement, List<Change> changes) {
+        for (int i = 0; i < oldElement.attributeCount(); i++) {
+            XmlAttribute oldAttribute = oldElement.attributeAt(i);
+            XmlAttribute newAttribute = newElement.getXmlAttribute(oldAttribute.getExpandedName());
+            if (newAttribute == null) {
+                changes.add(new Change(Type.ATTRIBUTE, XmlPath.of(oldAttribute), -1, -1, newElement,
+                    oldAttribute.getValue(), null));
+            } else if (!oldAttribute.equals(newAttribute)) {
+                changes.add(new Change(Type.ATTRIBUTE, XmlPath.of(newAttribute), -1, -1, newElement,
+                    oldAttribute.getValue(), newAttribute.getValue()));
+            }
+        }
+        for (int i = 0; i < newElement.attributeCount(); i++) {
+            XmlAttribute newAttribute = newElement.attributeAt(i);
+            if (oldElement.getXmlAttribute(newAttribute.getExpandedName()) == null) {
+                changes.add(new Change(Type.ATTRIBUTE, XmlPath.of(newAttribute), -1, -1, newElement,
+                    null, newAttribute.getValue()));
+            }
+        }
+    }
+
+    private void diffContent(XmlElement oldElement, XmlElement newElement, List<Change> changes) {
+        int oldCount = oldElement.contentCount();
+        int newCount = newElement.contentCount();
+        int[] newToOld = new int[newCount];
+        Arrays.fill(newToOld, -1);
+        boolean[] oldPaired = new boolean[oldCount];
+        boolean[] identical = new boolean[newCount];
+
+        // 1. identical content
+        Map<Long, ArrayDeque<Integer>> oldByDigest = new HashMap<>();
+        for (int i = 0; i < oldCount; i++) {
+            oldByDigest.computeIfAbsent(digest(oldElement.contentAt(i)), k -> new ArrayDeque<>()).add(i);
+        }
+        for (int j = 0; j < newCount; j++) {
+            ArrayDeque<Integer> candidates = oldByDigest.get(digest(newElement.contentAt(j)));
+            if (candidates != null && !candidates.isEmpty()) {
+                int i = candidates.poll();
+                newToOld[j] = i;
+                oldPaired[i] = true;
+                identical[j] = true;
+            }
+        }
+
+        // 2. changed content, elements by name and texts in order
+        Map<Object, ArrayDeque<Integer>> oldElementsByName = new HashMap<>();
+        ArrayDeque<Integer> oldTexts = new ArrayDeque<>();
+        for (int i = 0; i < oldCount; i++) {
+            if (oldPaired[i]) {
+                continue;
+            }
+            XmlContent content = oldElement.contentAt(i);
+            if (content instanceof XmlElement element) {
+                oldElementsByName.computeIfAbsent(nameKey(element), k -> new ArrayDeque<>()).add(i);
+            } else if (content instanceof XmlText) {
+                oldTexts.add(i);
+            }
+        }
+        for (int j = 0; j < newCount; j++) {
+            if (identical[j]) {
+                continue;
+            }
+            XmlContent content = newElement.contentAt(j);
+            ArrayDeque<Integer> candidates = content instanceof XmlElement element
+                                             ? oldElementsByName.get(nameKey(element))
+                                             : oldTexts;
+            if (candidates != null && !candidates.isEmpty()) {
+                int i = candidates.poll();
+                newToOld[j] = i;
+                oldPaired[i] = true;
+            }
+        }
+
+        // 3. deleted content
+        for (int i = 0; i < oldCount; i++) {
+            if (!oldPaired[i]) {
+                XmlContent content = oldElement.contentAt(i);
+                changes.add(new Change(Type.DELETE, pathOf(content, oldElement), i, -1, content, null, null));
+            }
+        }
+
+        boolean[] kept = digester.isIgnoreOrder() ? null : longestIncreasingSubsequence(newToOld);
+        for (int j = 0; j < newCount; j++) {
+            XmlContent content = newElement.contentAt(j);
+            int i = newToOld[j];
+            if (i < 0) {
+                changes.add(new Change(Type.INSERT, pathOf(content, newElement), -1, j, content, null, null));
+                continue;
+            }
+            if (kept != null && !kept[j]) {
+                changes.add(new Change(Type.MOVE, pathOf(content, newElement), i, j, content, null, null));
+            }
+            if (identical[j]) {
+                continue;
+            }
+            XmlContent oldContent = oldElement.contentAt(i);
+            if (content instanceof XmlElement element) {
+                diffElement((XmlElement) oldContent, element, changes);
+            } else if (content instanceof XmlText text) {
+                changes.add(new Change(Type.TEXT, XmlPath.of(newElement), i, j, text, ((XmlText) oldContent).get(),
+                    text.get()));
+            }
+        }
+    }
+
+    private long digest(XmlContent content) {
+        if (content instanceof XmlElement element) {
+            return digester.digest(element);
+        }
+        return digester.digest((XmlText) content);
+    }
+
+    private Object nameKey(XmlElement element) {
+        return digester.isIgnoreElementPrefix() ? element.getExpandedName() : element.getName();
+    }
+
+    private static XmlPath pathOf(XmlContent content, XmlElement parent) {
+        return XmlPath.of(content instanceof XmlElement element ? element : parent);
+    }
+
+    /**
+     * Marks the paired positions which keep their relative order. The unmarked paired positions are the minimal
+     * set of moves.
+     *
+     * @param newToOld old position for each new position or -1 if unpaired
+     * @return for each new position true if it is part of the longest increasing subsequence
+     */
+    private static boolean[] longestIncreasingSubsequence(int[] newToOld) {
+        int n = newToOld.length;
+        int[] tails = new int[n];
+        int[] predecessors = new int[n];
+        int length = 0;
+        for (int j = 0; j < n; j++) {
+            int value = newToOld[j];
+            if (value < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (newToOld[tails[mid]] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            predecessors[j] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = j;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] kept = new boolean[n];
+        for (int j = length > 0 ? tails[length - 1] : -1; j >= 0; j = predecessors[j]) {
+            kept[j] = true;
+        }
+        return kept;
+    }
+
+}
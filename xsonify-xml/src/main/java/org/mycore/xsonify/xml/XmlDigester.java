@@ -0,0 +1,234 @@
+package org.mycore.xsonify.xml;
+
+/**
+ * <p>Computes 64-bit Merkle digests of {@link XmlElement} subtrees.</p>
+ *
+ * <p>The digest of an element is derived from its name, additional namespaces, attributes and the digests of its
+ * content nodes. Like {@link XmlEqualityChecker}, the digester can be configured to:</p>
+ * <ul>
+ *   <li>{@code ignoreOrder} - combine the content digests order independent.</li>
+ *   <li>{@code normalizeText} - normalize texts instead of only trimming them.</li>
+ *   <li>{@code ignoreAdditionalNamespaces} - ignore additional namespace declarations.</li>
+ *   <li>{@code ignoreElementPrefix} - use the expanded name of elements.</li>
+ * </ul>
+ *
+ * <p>The digest only depends on the subtree, not on the position of the element in the document, and is stable
+ * across JVM runs, so it can be stored for later change detection. Strings are hashed with 64-bit FNV-1a, the
+ * values are mixed with the MurmurHash3 finalizer.</p>
+ *
+ * <p>The digest of each element is cached on the element until the element or one of its descendants is modified.
+ * Each element caches the digest of the last used options only. Computing a digest is not thread safe, because the
+ * cache is updated.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ *   XmlDigester digester = new XmlDigester().setNormalizeText(true);
+ *   boolean changed = digester.digest(record) != storedDigest;
+ * </pre>
+ */
+public class XmlDigester {
+
+    /**
+     * Marks elements without cached digest.
+     */
+    static final int NO_OPTIONS = -1;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long ELEMENT_SEED = 0x2545f4914f6cdd1dL;
+
+    private static final long TEXT_SEED = 0x9e3779b97f4a7c15L;
+
+    private static final long NAMESPACE_SEED = 0x632be59bd9b4e019L;
+
+    private static final long ATTRIBUTE_SEED = 0x85ebca77c2b2ae63L;
+
+    private boolean ignoreOrder;
+
+    private boolean normalizeText;
+
+    private boolean ignoreAdditionalNamespaces;
+
+    private boolean ignoreElementPrefix;
+
+    /**
+     * Sets whether additional namespaces should be ignored.
+     *
+     * @param ignoreAdditionalNamespaces true to ignore additional namespaces; false to consider them.
+     * @return this {@code XmlDigester} instance.
+     */
+    public XmlDigester setIgnoreAdditionalNamespaces(boolean ignoreAdditionalNamespaces) {
+        this.ignoreAdditionalNamespaces = ignoreAdditionalNamespaces;
+        return this;
+    }
+
+    /**
+     * Sets whether the order of child elements and text nodes should be ignored.
+     *
+     * @param ignoreOrder true to ignore the order; false to consider the original order.
+     * @return this {@code XmlDigester} instance.
+     */
+    public XmlDigester setIgnoreOrder(boolean ignoreOrder) {
+        this.ignoreOrder = ignoreOrder;
+        return this;
+    }
+
+    /**
+     * Sets whether the element prefix should be ignored.
+     *
+     * @param ignorePrefix true to ignore the prefix and use the expanded name; false otherwise.
+     * @return this {@code XmlDigester} instance.
+     */
+    public XmlDigester setIgnoreElementPrefix(boolean ignorePrefix) {
+        this.ignoreElementPrefix = ignorePrefix;
+        return this;
+    }
+
+    /**
+     * Sets whether the text content should be normalized.
+     *
+     * @param normalizeText true to normalize text; false to use the trimmed text.
+     * @return this {@code XmlDigester} instance.
+     */
+    public XmlDigester setNormalizeText(boolean normalizeText) {
+        this.normalizeText = normalizeText;
+        return this;
+    }
+
+    /**
+     * Returns the digest of the element and its content. Digests of the element and its descendants are taken from
+     * the cache if possible, and cached otherwise.
+     *
+     * @param element the element to digest
+     * @return the 64-bit digest
+     */
+    public long digest(XmlElement element) {
+        return digest(element, options());
+    }
+
+    /**
+     * Returns the digest of a text node. Text digests are not cached.
+     *
+     * @param text the text to digest
+     * @return the 64-bit digest
+     */
+    public long digest(XmlText text) {
+        return combine(TEXT_SEED, hash(normalizeText ? text.normalize() : text.get().trim()));
+    }
+
+    /**
+     * Checks if the two elements have the same digest.
+     *
+     * @param e1 the first XML element to compare.
+     * @param e2 the second XML element to compare.
+     * @return true if the digests are equal
+     */
+    public boolean equals(XmlElement e1, XmlElement e2) {
+        int options = options();
+        return digest(e1, options) == digest(e2, options);
+    }
+
+    /**
+     * Returns the digest as 16 character hex string.
+     *
+     * @param digest the digest
+     * @return the hex representation
+     */
+    public static String toHex(long digest) {
+        String hex = Long.toHexString(digest);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    boolean isIgnoreOrder() {
+        return ignoreOrder;
+    }
+
+    boolean isIgnoreAdditionalNamespaces() {
+        return ignoreAdditionalNamespaces;
+    }
+
+    boolean isIgnoreElementPrefix() {
+        return ignoreElementPrefix;
+    }
+
+    private int options() {
+        return (ignoreOrder ? 1 : 0)
+            | (normalizeText ? 2 : 0)
+            | (ignoreAdditionalNamespaces ? 4 : 0)
+            | (ignoreElementPrefix ? 8 : 0);
+    }
+
+    private long digest(XmlElement element, int options) {
+        if (element.hasCachedDigest(options)) {
+            return element.getCachedDigest();
+        }
+        long digest = combine(ELEMENT_SEED, digestBase(element));
+        long contentDigest = 0;
+        for (int index = 0; index < element.contentCount(); index++) {
+            XmlContent content = element.contentAt(index);
+            long childDigest;
+            if (content instanceof XmlElement childElement) {
+                childDigest = digest(childElement, options);
+            } else if (content instanceof XmlText text) {
+                childDigest = digest(text);
+            } else {
+                continue;
+            }
+            // sum is order independent, the chained combination is not
+            contentDigest = ignoreOrder ? contentDigest + childDigest : combine(contentDigest, childDigest);
+        }
+        digest = combine(combine(digest, element.contentCount()), contentDigest);
+        element.setCachedDigest(options, digest);
+        return digest;
+    }
+
+    private long digestBase(XmlElement element) {
+        XmlName name = element.getName();
+        long digest = combine(hash(name.uri()), hash(name.local()));
+        if (!ignoreElementPrefix) {
+            digest = combine(digest, hash(name.prefix()));
+        }
+        // namespaces and attributes are unordered
+        long namespacesDigest = 0;
+        if (!ignoreAdditionalNamespaces) {
+            for (XmlNamespace namespace : element.getAdditionalNamespacesView()) {
+                namespacesDigest += combine(NAMESPACE_SEED, combine(hash(namespace.prefix()), hash(namespace.uri())));
+            }
+        }
+        long attributesDigest = 0;
+        for (int i = 0; i < element.attributeCount(); i++) {
+            XmlAttribute attribute = element.attributeAt(i);
+            attributesDigest += combine(ATTRIBUTE_SEED,
+                combine(hash(attribute.getQualifiedName()), hash(attribute.getValue())));
+        }
+        return combine(combine(digest, namespacesDigest), attributesDigest);
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long combine(long digest, long value) {
+        return mix(digest * 31 + value + TEXT_SEED);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
@@ -1,7 +1,6 @@
 package org.mycore.xsonify.xml;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -77,7 +76,7 @@ public class XmlDocument {
             namespaces.putIfAbsent(prefix, new LinkedHashSet<>());
             namespaces.get(prefix).add(namespace);
         });
-        for (XmlElement childElement : element.getElements()) {
+        for (XmlElement childElement : element.getElementsView()) {
             collectNamespaces(childElement, namespaces);
         }
     }
@@ -98,91 +97,61 @@ public class XmlDocument {
 
     /**
      * Queries the first XmlElement that matches the given XmlPath.
+     * <p>
+     * Use {@link XmlPathQuery} to evaluate the same path against many documents.
      *
      * @param path The XmlPath to use for querying the XmlElement.
      * @return The first XmlElement that matches the path or null if no element is found.
      * @throws XmlException if the path query is invalid.
      */
     public XmlElement queryFirstElement(XmlPath path) throws XmlException {
-        List<XmlElement> elements = queryElements(path);
-        return !elements.isEmpty() ? elements.get(0) : null;
+        return XmlPathQuery.compile(path).queryFirstElement(this);
     }
 
     /**
      * Queries the XmlDocument and returns a list of XmlElements that match the given XmlPath.
+     * <p>
+     * Use {@link XmlPathQuery} to evaluate the same path against many documents.
      *
      * @param path The XmlPath to use for querying the XmlElements.
      * @return A list of XmlElements that match the path or an empty list if no elements are found.
      * @throws XmlException if the path query is invalid.
      */
     public List<XmlElement> queryElements(XmlPath path) throws XmlException {
-        XmlName rootName = path.root().name();
-        if (!this.root.getName().equals(rootName)) {
-            return Collections.emptyList();
-        }
-        List<XmlElement> elementList = List.of(this.root);
-        if (path.size() == 1) {
-            return elementList;
-        }
-        for (int i = 1; i < path.size(); i++) {
-            XmlPath.Node node = path.at(i);
-            if (!XmlPath.Type.ELEMENT.equals(node.type())) {
-                throw new XmlException("Invalid path query.");
-            }
-            elementList = elementList.stream()
-                .flatMap(element -> element.getElements(node.name()).stream())
-                .toList();
-            if (elementList.isEmpty()) {
-                return Collections.emptyList();
-            }
-        }
-        return elementList;
+        return XmlPathQuery.compile(path).queryElements(this);
     }
 
     /**
      * Queries the first attribute that matches the given XmlPath.
+     * <p>
+     * Use {@link XmlPathQuery} to evaluate the same path against many documents.
      *
      * @param path The XmlPath to use for querying the attribute.
      * @return Value of the first attribute or null.
      * @throws XmlException if the path query is invalid.
      */
     public String queryFirstAttribute(XmlPath path) throws XmlException {
-        List<String> attributes = queryAttributes(path);
-        return !attributes.isEmpty() ? attributes.get(0) : null;
+        if (path.isEmpty() || !path.last().isAttribute()) {
+            return null;
+        }
+        return XmlPathQuery.compile(path).queryFirstAttribute(this);
     }
 
     /**
      * Queries the XmlDocument and returns a list of attribute values that match the given XmlPath.
+     * <p>
+     * Use {@link XmlPathQuery} to evaluate the same path against many documents.
      *
      * @param path The XmlPath to use for querying the attributes.
      * @return A list of attribute values that match the path or an empty list if no attributes are found.
      * @throws XmlException if the path query is invalid.
      */
     public List<String> queryAttributes(XmlPath path) throws XmlException {
-        XmlPath.Node attributeNode = path.last();
         // check if last node is attribute node
-        if(!attributeNode.type().equals(XmlPath.Type.ATTRIBUTE)) {
+        if (path.isEmpty() || !path.last().isAttribute()) {
             return new ArrayList<>();
         }
-        // get element path
-        XmlPath elementPath = new XmlPath();
-        for (XmlPath.Node node : path) {
-            if(attributeNode.equals(node)) {
-                break;
-            }
-            elementPath.add(node);
-        }
-        // query element path
-        List<XmlElement> elements = queryElements(elementPath);
-        // go through attributes
-        List<String> attributes = new ArrayList<>();
-        for(XmlElement element : elements) {
-            String attribute = element.getAttribute(attributeNode.name());
-            if(attribute != null) {
-                attributes.add(attribute);
-            }
-        }
-        return attributes;
+        return XmlPathQuery.compile(path).queryAttributes(this);
     }
 
 }
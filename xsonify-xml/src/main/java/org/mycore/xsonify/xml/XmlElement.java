@@ -1,11 +1,14 @@
 package org.mycore.xsonify.xml;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,6 +16,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -24,6 +28,20 @@ import java.util.stream.Stream;
  */
 public class XmlElement extends XmlContent {
 
+    private static final XmlAttribute[] NO_ATTRIBUTES = new XmlAttribute[0];
+
+    /**
+     * Number of attributes up to which a linear scan is used to look up an attribute. Elements with more attributes
+     * use an additional index.
+     */
+    private static final int ATTRIBUTE_INDEX_THRESHOLD = 8;
+
+    /**
+     * Number of child elements up to which a linear scan is used to look up child elements by name. Elements with
+     * more children use an additional index.
+     */
+    private static final int ELEMENT_INDEX_THRESHOLD = 8;
+
     private XmlName name;
 
     private final List<XmlContent> content;
@@ -32,10 +50,41 @@ public class XmlElement extends XmlContent {
 
     private final List<XmlText> texts;
 
-    private final Map<String, Map<String, XmlAttribute>> attributes;
+    /**
+     * Lazily created name to child elements lookup. Only used if there are more than
+     * {@link #ELEMENT_INDEX_THRESHOLD} child elements. Is reset if child elements are removed, reordered or renamed.
+     */
+    private Map<XmlName, List<XmlElement>> elementIndex;
+
+    /**
+     * Attributes in insertion order. Only the first {@link #attributeCount} entries are used.
+     */
+    private XmlAttribute[] attributes;
+
+    private int attributeCount;
+
+    /**
+     * Lazily created expanded name to array index lookup. Only used if there are more than
+     * {@link #ATTRIBUTE_INDEX_THRESHOLD} attributes.
+     */
+    private Map<XmlExpandedName, Integer> attributeIndex;
 
     private final Map<String, XmlNamespace> additionalNamespaces;
 
+    /**
+     * Cached namespace scope of this element. Is reset as soon as the namespaces of this element or one of its
+     * ancestors change.
+     */
+    private XmlNamespaceScope namespaceScope;
+
+    /**
+     * Cached subtree digest of {@link XmlDigester} and the options it was computed with. Is reset as soon as this
+     * element or one of its descendants change.
+     */
+    private long digest;
+
+    private int digestOptions = XmlDigester.NO_OPTIONS;
+
     /**
      * Create a new XmlElement with the specified local name and {@link XmlNamespace#EMPTY}.
      *
@@ -79,7 +128,8 @@ public class XmlElement extends XmlContent {
         this.content = new ArrayList<>();
         this.elements = new ArrayList<>();
         this.texts = new ArrayList<>();
-        this.attributes = new LinkedHashMap<>();
+        this.attributes = NO_ATTRIBUTES;
+        this.attributeCount = 0;
         this.additionalNamespaces = new LinkedHashMap<>();
     }
 
@@ -120,6 +170,17 @@ public class XmlElement extends XmlContent {
         return this.name.expandedName();
     }
 
+    /**
+     * Sets the parent of this element. This resets the cached namespace scope of this element and its descendants.
+     *
+     * @param parent The parent XmlElement.
+     */
+    @Override
+    public void setParent(XmlElement parent) {
+        super.setParent(parent);
+        invalidateNamespaceScope();
+    }
+
     /**
      * Sets the XmlDocument for this XmlElement and propagates the same document to all child content of this XmlElement.
      *
@@ -138,10 +199,17 @@ public class XmlElement extends XmlContent {
      * @param attribute the attribute to set
      */
     public void setAttribute(XmlAttribute attribute) {
-        String uri = attribute.getNamespace().uri();
-        String localName = attribute.getLocalName();
-        attributes.computeIfAbsent(uri, k -> new LinkedHashMap<>()).put(localName, attribute);
+        int index = indexOfAttribute(attribute.getLocalName(), attribute.getNamespace().uri());
+        if (index >= 0) {
+            this.attributes[index] = attribute;
+        } else {
+            addAttribute(attribute);
+        }
         attribute.setParent(this);
+        invalidateDigest();
+        if (!XmlNamespace.EMPTY.equals(attribute.getNamespace())) {
+            invalidateNamespaceScope();
+        }
     }
 
     /**
@@ -204,11 +272,8 @@ public class XmlElement extends XmlContent {
      * @return the XmlAttribute, or null if the attribute does not exist
      */
     public XmlAttribute getXmlAttribute(XmlExpandedName expandedName) {
-        Map<String, XmlAttribute> attributeNamespaces = attributes.get(expandedName.uri());
-        if (attributeNamespaces == null) {
-            return null;
-        }
-        return attributeNamespaces.get(expandedName.local());
+        int index = indexOfAttribute(expandedName.local(), expandedName.uri());
+        return index >= 0 ? this.attributes[index] : null;
     }
 
     /**
@@ -276,12 +341,8 @@ public class XmlElement extends XmlContent {
      * @return the value of the attribute, or null if the attribute does not exist
      */
     public String getAttribute(XmlName name) {
-        Map<String, XmlAttribute> localNameAttributeMap = this.attributes.get(name.uri());
-        if (localNameAttributeMap == null) {
-            return null;
-        }
-        XmlAttribute xmlAttribute = localNameAttributeMap.get(name.local());
-        return xmlAttribute != null ? xmlAttribute.getValue() : null;
+        int index = indexOfAttribute(name.local(), name.uri());
+        return index >= 0 ? this.attributes[index].getValue() : null;
     }
 
     /**
@@ -296,15 +357,67 @@ public class XmlElement extends XmlContent {
     }
 
     /**
-     * Returns a list of all attributes of this XML element.
+     * Returns a read-only list of all attributes of this XML element in insertion order.
+     * <p>
+     * The list is a view and does not copy the attributes. Replacing an attribute with
+     * {@link #setAttribute(XmlAttribute)} is reflected by the view.
      *
      * @return a list of all attributes
      */
     public List<XmlAttribute> getAttributes() {
-        return attributes.values()
-            .stream()
-            .flatMap(map -> map.values().stream())
-            .toList();
+        return this.attributeCount == 0 ? Collections.emptyList() : new AttributeView();
+    }
+
+    /**
+     * Returns the number of attributes of this XML element.
+     *
+     * @return the number of attributes
+     */
+    public int attributeCount() {
+        return this.attributeCount;
+    }
+
+    /**
+     * Returns the attribute at the given index.
+     *
+     * @param index index of the attribute
+     * @return the attribute
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public XmlAttribute attributeAt(int index) {
+        Objects.checkIndex(index, this.attributeCount);
+        return this.attributes[index];
+    }
+
+    private void addAttribute(XmlAttribute attribute) {
+        if (this.attributeCount == this.attributes.length) {
+            this.attributes = Arrays.copyOf(this.attributes, Math.max(2, this.attributeCount * 2));
+        }
+        this.attributes[this.attributeCount] = attribute;
+        if (this.attributeIndex != null) {
+            this.attributeIndex.put(attribute.getExpandedName(), this.attributeCount);
+        }
+        this.attributeCount++;
+    }
+
+    private int indexOfAttribute(String localName, String uri) {
+        if (this.attributeCount > ATTRIBUTE_INDEX_THRESHOLD) {
+            if (this.attributeIndex == null) {
+                this.attributeIndex = new HashMap<>();
+                for (int i = 0; i < this.attributeCount; i++) {
+                    this.attributeIndex.put(this.attributes[i].getExpandedName(), i);
+                }
+            }
+            Integer index = this.attributeIndex.get(new XmlExpandedName(localName, uri));
+            return index != null ? index : -1;
+        }
+        for (int i = 0; i < this.attributeCount; i++) {
+            XmlAttribute attribute = this.attributes[i];
+            if (attribute.getLocalName().equals(localName) && attribute.getNamespace().uri().equals(uri)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -347,6 +460,7 @@ public class XmlElement extends XmlContent {
         this.content.add(text);
         this.texts.add(text);
         text.setParent(this);
+        invalidateDigest();
     }
 
     /**
@@ -357,7 +471,11 @@ public class XmlElement extends XmlContent {
     public void addElement(XmlElement element) {
         this.content.add(element);
         this.elements.add(element);
+        if (this.elementIndex != null) {
+            this.elementIndex.computeIfAbsent(element.getName(), k -> new ArrayList<>()).add(element);
+        }
         element.setParent(this);
+        invalidateDigest();
     }
 
     /**
@@ -379,7 +497,14 @@ public class XmlElement extends XmlContent {
      * </p>
      */
     public void clear() {
-        this.content.forEach(XmlContent::detach);
+        for (XmlContent childContent : this.content) {
+            childContent.setParent(null);
+        }
+        this.content.clear();
+        this.elements.clear();
+        this.texts.clear();
+        this.elementIndex = null;
+        invalidateDigest();
     }
 
     /**
@@ -392,10 +517,12 @@ public class XmlElement extends XmlContent {
         this.content.remove(content);
         if (content instanceof XmlElement) {
             this.elements.remove(content);
+            this.elementIndex = null;
         } else if (content instanceof XmlText) {
             this.texts.remove(content);
         }
         content.setParent(null);
+        invalidateDigest();
     }
 
     /**
@@ -407,6 +534,37 @@ public class XmlElement extends XmlContent {
         return List.copyOf(this.elements);
     }
 
+    /**
+     * Returns an unmodifiable live view of all child elements of this XML element. In contrast to
+     * {@link #getElements()}, no copy is created. The view reflects later changes of this element, so it should not
+     * be used while adding or removing child content.
+     *
+     * @return a read-only view of the child elements
+     */
+    public List<XmlElement> getElementsView() {
+        return Collections.unmodifiableList(this.elements);
+    }
+
+    /**
+     * Returns the number of child elements of this XML element.
+     *
+     * @return the number of child elements
+     */
+    public int elementCount() {
+        return this.elements.size();
+    }
+
+    /**
+     * Returns the child element at the given index.
+     *
+     * @param index index of the child element
+     * @return the child element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public XmlElement elementAt(int index) {
+        return this.elements.get(index);
+    }
+
     /**
      * Checks if this XML element has any content. Content includes text or element nodes.
      *
@@ -440,7 +598,7 @@ public class XmlElement extends XmlContent {
      * @return true if this element has attributes, false otherwise
      */
     public boolean hasAttributes() {
-        return !this.attributes.isEmpty();
+        return this.attributeCount > 0;
     }
 
     /**
@@ -461,15 +619,29 @@ public class XmlElement extends XmlContent {
         return List.copyOf(this.texts);
     }
 
+    /**
+     * Returns an unmodifiable live view of the XmlTexts associated with this XmlElement. No copy is created.
+     *
+     * @return a read-only view of the texts
+     */
+    public List<XmlText> getTextsView() {
+        return Collections.unmodifiableList(this.texts);
+    }
+
     /**
      * Returns the concatenated normalized text of this XML element.
      *
      * @return the concatenated normalized text
      */
     public String getTextNormalized() {
-        return this.texts.stream()
-            .map(XmlText::normalize)
-            .collect(Collectors.joining(""));
+        if (this.texts.size() == 1) {
+            return this.texts.get(0).normalize();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (XmlText text : this.texts) {
+            sb.append(text.normalize());
+        }
+        return sb.toString();
     }
 
     /**
@@ -478,9 +650,14 @@ public class XmlElement extends XmlContent {
      * @return the concatenated text
      */
     public String getText() {
-        return this.texts.stream()
-            .map(XmlText::get)
-            .collect(Collectors.joining(""));
+        if (this.texts.size() == 1) {
+            return this.texts.get(0).get();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (XmlText text : this.texts) {
+            sb.append(text.get());
+        }
+        return sb.toString();
     }
 
     /**
@@ -510,6 +687,52 @@ public class XmlElement extends XmlContent {
         return List.copyOf(this.content);
     }
 
+    /**
+     * Returns an unmodifiable live view of all content of this XML element. In contrast to {@link #getContent()},
+     * no copy is created. The view reflects later changes of this element, so it should not be used while adding or
+     * removing child content.
+     *
+     * @return a read-only view of the child nodes
+     */
+    public List<XmlContent> getContentView() {
+        return Collections.unmodifiableList(this.content);
+    }
+
+    /**
+     * Returns the number of child nodes (elements and texts) of this XML element.
+     *
+     * @return the number of child nodes
+     */
+    public int contentCount() {
+        return this.content.size();
+    }
+
+    /**
+     * Returns the child node at the given index.
+     *
+     * @param index index of the child node
+     * @return the child node
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public XmlContent contentAt(int index) {
+        return this.content.get(index);
+    }
+
+    /**
+     * Traverses this element and all its descendant elements in document order (depth-first). The visitor decides
+     * for each element if its children should be visited as well.
+     *
+     * @param visitor the visitor to apply
+     */
+    public void accept(XmlElementVisitor visitor) {
+        if (!visitor.visit(this)) {
+            return;
+        }
+        for (int i = 0; i < this.elements.size(); i++) {
+            this.elements.get(i).accept(visitor);
+        }
+    }
+
     /**
      * Returns the namespace of this XML element.
      *
@@ -528,8 +751,7 @@ public class XmlElement extends XmlContent {
      * @return the namespace for the given prefix, or null if the prefix doesn't match any namespace
      */
     public XmlNamespace getNamespace(String prefix) {
-        Map<String, XmlNamespace> inheritedNamespaces = getNamespacesInScope();
-        XmlNamespace namespace = inheritedNamespaces.get(prefix);
+        XmlNamespace namespace = getNamespaceScope().inScope().get(prefix);
         if (namespace != null) {
             return namespace;
         }
@@ -573,7 +795,61 @@ public class XmlElement extends XmlContent {
      * @return a list of matching child elements
      */
     public List<XmlElement> getElements(XmlName name) {
-        return element(name).collect(Collectors.toList());
+        List<XmlElement> elements = new ArrayList<>();
+        collectElements(name, elements);
+        return elements;
+    }
+
+    /**
+     * Adds all child elements with the given name to the target list. Children of elements with many child elements
+     * are looked up with an index, which is built on first use.
+     *
+     * @param name   the XmlName to match
+     * @param target the list to add the matching child elements to
+     */
+    void collectElements(XmlName name, List<XmlElement> target) {
+        if (this.elements.size() > ELEMENT_INDEX_THRESHOLD) {
+            List<XmlElement> indexed = getElementIndex().get(name);
+            if (indexed != null) {
+                target.addAll(indexed);
+            }
+            return;
+        }
+        for (XmlElement element : this.elements) {
+            if (element.getName().equals(name)) {
+                target.add(element);
+            }
+        }
+    }
+
+    /**
+     * Returns the first child element with the given name.
+     *
+     * @param name the XmlName to match
+     * @return the element or null
+     */
+    public XmlElement getElement(XmlName name) {
+        if (this.elements.size() > ELEMENT_INDEX_THRESHOLD) {
+            List<XmlElement> indexed = getElementIndex().get(name);
+            return indexed != null ? indexed.get(0) : null;
+        }
+        for (XmlElement element : this.elements) {
+            if (element.getName().equals(name)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private Map<XmlName, List<XmlElement>> getElementIndex() {
+        if (this.elementIndex == null) {
+            Map<XmlName, List<XmlElement>> index = new HashMap<>();
+            for (XmlElement element : this.elements) {
+                index.computeIfAbsent(element.getName(), k -> new ArrayList<>()).add(element);
+            }
+            this.elementIndex = index;
+        }
+        return this.elementIndex;
     }
 
     /**
@@ -587,15 +863,10 @@ public class XmlElement extends XmlContent {
     }
 
     private Stream<XmlElement> element(XmlQualifiedName qualifiedName) {
-        return getElements().stream()
+        return this.elements.stream()
             .filter(element -> element.getQualifiedName().equals(qualifiedName));
     }
 
-    private Stream<XmlElement> element(XmlName name) {
-        return getElements().stream()
-            .filter(element -> element.getName().equals(name));
-    }
-
     public int indexOf(XmlContent content) {
         return this.content.indexOf(content);
     }
@@ -648,6 +919,8 @@ public class XmlElement extends XmlContent {
                 }
             }
         }
+        this.elementIndex = null;
+        invalidateDigest();
     }
 
     /**
@@ -661,6 +934,8 @@ public class XmlElement extends XmlContent {
             return;
         }
         this.additionalNamespaces.put(namespace.prefix(), namespace);
+        invalidateNamespaceScope();
+        invalidateDigest();
     }
 
     /**
@@ -674,11 +949,19 @@ public class XmlElement extends XmlContent {
     }
 
     public void removeAdditionalNamespace(XmlNamespace namespace) {
-        this.additionalNamespaces.remove(namespace.prefix(), namespace);
+        if (this.additionalNamespaces.remove(namespace.prefix(), namespace)) {
+            invalidateNamespaceScope();
+            invalidateDigest();
+        }
     }
 
     public void clearAdditionalNamespaces() {
+        if (this.additionalNamespaces.isEmpty()) {
+            return;
+        }
         this.additionalNamespaces.clear();
+        invalidateNamespaceScope();
+        invalidateDigest();
     }
 
     /**
@@ -688,6 +971,11 @@ public class XmlElement extends XmlContent {
      */
     public void setNamespace(XmlNamespace namespace) {
         this.name = new XmlName(this.name.local(), namespace);
+        if (getParent() != null) {
+            getParent().elementIndex = null;
+        }
+        invalidateNamespaceScope();
+        invalidateDigest();
     }
 
     /**
@@ -714,13 +1002,20 @@ public class XmlElement extends XmlContent {
         if (additionalNamespace != null) {
             return additionalNamespace;
         }
-        return getNamespacesInScope().get(prefix);
+        return getNamespaceScope().inScope().get(prefix);
     }
 
     public List<XmlNamespace> getAdditionalNamespaces() {
         return new ArrayList<>(this.additionalNamespaces.values());
     }
 
+    /**
+     * @return a read-only view of the additional namespaces
+     */
+    Collection<XmlNamespace> getAdditionalNamespacesView() {
+        return Collections.unmodifiableCollection(this.additionalNamespaces.values());
+    }
+
     /**
      * Returns all namespaces appearing in this element. This includes:
      * <ul>
@@ -742,7 +1037,8 @@ public class XmlElement extends XmlContent {
             namespaces.putIfAbsent(additionalNamespace.prefix(), additionalNamespace);
         }
         // attribute namespaces
-        for (XmlAttribute attribute : getAttributes()) {
+        for (int i = 0; i < this.attributeCount; i++) {
+            XmlAttribute attribute = this.attributes[i];
             if (attribute.getNamespace().equals(XmlNamespace.EMPTY)) {
                 continue;
             }
@@ -754,57 +1050,80 @@ public class XmlElement extends XmlContent {
     /**
      * Returns a map of the inherited namespaces of this XML element.
      * The map's keys are the prefixes of the namespaces, and the values are the namespaces themselves.
+     * <p>
+     * The returned map is unmodifiable. It is cached until the namespaces of this element or one of its ancestors
+     * change.
      *
      * @return a map of inherited namespaces
      */
-    public LinkedHashMap<String, XmlNamespace> getNamespacesInScope() {
-        LinkedHashMap<String, XmlNamespace> namespaces = new LinkedHashMap<>();
-        getNamespacesInScope(this, namespaces);
-        return namespaces;
+    public Map<String, XmlNamespace> getNamespacesInScope() {
+        return getNamespaceScope().inScope();
     }
 
     /**
-     * Recursive helper method to collect inherited namespaces from the given XML element and its ancestors.
-     * The collected namespaces are stored in the given map.
+     * Returns all namespaces this XML element introduces first.
+     * <p>
+     * The returned map is unmodifiable. It is cached until the namespaces of this element or one of its ancestors
+     * change.
      *
-     * @param element    the XML element to collect namespaces from
-     * @param namespaces the map to store the collected namespaces
+     * @return a collection of namespaces
+     */
+    public Map<String, XmlNamespace> getNamespacesIntroduced() {
+        return getNamespaceScope().introduced();
+    }
+
+    private XmlNamespaceScope getNamespaceScope() {
+        if (this.namespaceScope == null) {
+            XmlElement parent = getParent();
+            this.namespaceScope = XmlNamespaceScope.of(this, parent != null ? parent.getNamespaceScope() : null);
+        }
+        return this.namespaceScope;
+    }
+
+    /**
+     * Resets the cached namespace scope of this element and all its descendants. A descendant can only have a cached
+     * scope if this element has one, so the traversal stops at the first element without a cached scope.
      */
-    private void getNamespacesInScope(XmlElement element, LinkedHashMap<String, XmlNamespace> namespaces) {
-        // add xml namespace first
-        namespaces.putIfAbsent(XmlNamespace.XML.prefix(), XmlNamespace.XML);
-        // add local namespaces
-        element.getNamespacesLocal().forEach(namespaces::putIfAbsent);
-        // add parent namespaces
-        XmlElement parent = element.getParent();
-        if (parent != null) {
-            getNamespacesInScope(parent, namespaces);
+    private void invalidateNamespaceScope() {
+        if (this.namespaceScope == null) {
             return;
         }
-        // parent is null, element = root, add empty namespace if not already defined
-        namespaces.putIfAbsent(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
+        this.namespaceScope = null;
+        for (XmlElement element : this.elements) {
+            element.invalidateNamespaceScope();
+        }
     }
 
     /**
-     * Returns all namespaces this XML element introduces first.
+     * Checks if there is a cached digest which was computed with the given options.
      *
-     * @return a collection of namespaces
+     * @param options the options of the {@link XmlDigester}
+     * @return true if {@link #getCachedDigest()} can be used
      */
-    public LinkedHashMap<String, XmlNamespace> getNamespacesIntroduced() {
-        LinkedHashMap<String, XmlNamespace> namespacesInScope = getNamespacesInScope();
-        XmlElement parent = this.getParent();
-        // root element
-        if (parent == null) {
-            namespacesInScope.remove(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
-            namespacesInScope.remove(XmlNamespace.XML.prefix());
-            return namespacesInScope;
-        }
-        // all other -> difference between parent and this element
-        Map<String, XmlNamespace> parentNamespacesInScope = parent.getNamespacesInScope();
-        for (Map.Entry<String, XmlNamespace> entry : parentNamespacesInScope.entrySet()) {
-            namespacesInScope.remove(entry.getKey(), entry.getValue());
+    boolean hasCachedDigest(int options) {
+        return this.digestOptions == options;
+    }
+
+    long getCachedDigest() {
+        return this.digest;
+    }
+
+    void setCachedDigest(int options, long digest) {
+        this.digestOptions = options;
+        this.digest = digest;
+    }
+
+    /**
+     * Resets the cached digest of this element and all its ancestors. The digest of an element is always computed
+     * together with the digests of its descendants, so the traversal stops at the first element without a cached
+     * digest.
+     */
+    void invalidateDigest() {
+        XmlElement element = this;
+        while (element != null && element.digestOptions != XmlDigester.NO_OPTIONS) {
+            element.digestOptions = XmlDigester.NO_OPTIONS;
+            element = element.getParent();
         }
-        return namespacesInScope;
     }
 
     /**
@@ -818,9 +1137,9 @@ public class XmlElement extends XmlContent {
     public XmlElement copy(XmlDocument document) {
         XmlElement copy = new XmlElement(this.name, document);
         this.content.forEach(child -> copy.add(child.copy(document)));
-        this.attributes.entrySet().stream()
-            .flatMap(entry -> entry.getValue().values().stream())
-            .forEach(copy::setAttribute);
+        for (int i = 0; i < this.attributeCount; i++) {
+            copy.setAttribute(this.attributes[i]);
+        }
         this.additionalNamespaces.values().forEach(copy::setAdditionalNamespace);
         return copy;
     }
@@ -880,13 +1199,14 @@ public class XmlElement extends XmlContent {
         sb.append(getQualifiedName());
         getNamespacesIntroduced().values()
             .forEach(ns -> sb.append(" ").append(ns));
-        getAttributes().forEach(attr -> {
+        for (int i = 0; i < this.attributeCount; i++) {
+            XmlAttribute attr = this.attributes[i];
             sb.append(" ")
                 .append(attr.getQualifiedName())
                 .append("=").append("\"")
                 .append(attr.getValue())
                 .append("\"");
-        });
+        }
         if (!renderContent || !hasContent()) {
             sb.append("/>");
             if (pretty) {
@@ -899,7 +1219,10 @@ public class XmlElement extends XmlContent {
             sb.append("\n");
         }
         if (pretty) {
-            getContent().forEach(content -> content.toPrettyXml(sb, indent + "  "));
+            String childIndent = indent + "  ";
+            for (XmlContent childContent : this.content) {
+                childContent.toPrettyXml(sb, childIndent);
+            }
         } else {
             contentToXml(sb);
         }
@@ -914,16 +1237,22 @@ public class XmlElement extends XmlContent {
 
     /**
      * Returns a string representation of the content of this XML element.
-     * The string is encoded using the specified character set.
+     * The content is written by a {@link XmlWriter}, so text and attribute values are escaped. Characters which
+     * can't be represented in the specified character set are replaced like on encoding.
      *
      * @param charset the character set to use for encoding
      * @return the encoded content
      */
     public String encodeContent(Charset charset) {
-        StringBuilder sb = new StringBuilder();
-        contentToXml(sb);
-        ByteBuffer buffer = charset.encode(sb.toString());
-        return charset.decode(buffer).toString();
+        StringWriter stringWriter = new StringWriter();
+        try (XmlWriter xmlWriter = new XmlWriter(stringWriter)) {
+            xmlWriter.writeContent(this);
+        } catch (IOException ioException) {
+            // a StringWriter doesn't throw
+            throw new UncheckedIOException(ioException);
+        }
+        String content = stringWriter.toString();
+        return charset.newEncoder().canEncode(content) ? content : new String(content.getBytes(charset), charset);
     }
 
     /**
@@ -933,12 +1262,12 @@ public class XmlElement extends XmlContent {
      * @param sb the string builder to append to
      */
     private void contentToXml(StringBuilder sb) {
-        trailingContent().forEach(trailingInfo -> {
-            trailingInfo.content().toXml(sb);
-            if (trailingInfo.trailing) {
+        for (int i = 0; i < this.content.size(); i++) {
+            this.content.get(i).toXml(sb);
+            if (hasTrailingWhitespace(i)) {
                 sb.append(" ");
             }
-        });
+        }
     }
 
     /**
@@ -953,25 +1282,23 @@ public class XmlElement extends XmlContent {
      * @return a list of child nodes with additional information about trailing whitespaces
      */
     public List<TrailingInfo> trailingContent() {
-        List<TrailingInfo> trailingInfos = new ArrayList<>();
-        for (int i = 0; i < content.size(); i++) {
-            XmlContent childContent = getContent().get(i);
-            // check for text and last element
-            if (!(childContent instanceof XmlText xmlText) || i >= content.size() - 1) {
-                trailingInfos.add(new TrailingInfo(childContent, false));
-                continue;
-            }
-            String text = xmlText.get();
-            // check for whitespace at the end
-            if (!Character.isWhitespace(text.charAt(text.length() - 1))) {
-                trailingInfos.add(new TrailingInfo(childContent, false));
-                continue;
-            }
-            trailingInfos.add(new TrailingInfo(childContent, true));
+        List<TrailingInfo> trailingInfos = new ArrayList<>(this.content.size());
+        for (int i = 0; i < this.content.size(); i++) {
+            trailingInfos.add(new TrailingInfo(this.content.get(i), hasTrailingWhitespace(i)));
         }
         return trailingInfos;
     }
 
+    boolean hasTrailingWhitespace(int index) {
+        // check for text and last element
+        if (index >= this.content.size() - 1 || !(this.content.get(index) instanceof XmlText xmlText)) {
+            return false;
+        }
+        // check for whitespace at the end
+        String text = xmlText.get();
+        return !text.isEmpty() && Character.isWhitespace(text.charAt(text.length() - 1));
+    }
+
     /**
      * Same as {@link #decodeContent(String, Charset, Collection)}, but with empty root namespaces.
      *
@@ -986,7 +1313,8 @@ public class XmlElement extends XmlContent {
 
     /**
      * Returns a list of XmlElement objects constructed from the specified encoded content string.
-     * The string is decoded using the specified character set.
+     * Characters which can't be represented in the specified character set are replaced like on encoding.
+     * Use {@link XmlFragmentParser} to parse content directly into an element.
      *
      * @param content    the encoded content string
      * @param charset    the character set to use for decoding
@@ -996,28 +1324,13 @@ public class XmlElement extends XmlContent {
      */
     public static List<XmlContent> decodeContent(String content, Charset charset, Collection<XmlNamespace> namespaces)
         throws XmlParseException {
-        // build xml string
-        StringBuilder sb = new StringBuilder();
-        sb.append("<root");
-        namespaces.forEach(namespace -> sb.append(" ").append(namespace.toString()));
-        sb.append(">");
-        sb.append(new String(content.getBytes(charset), charset));
-        sb.append("</root>");
-
-        // parse
-        try {
-            XmlParser parser = new XmlSaxParser();
-            try (InputStream inputStream = new ByteArrayInputStream(sb.toString().getBytes(charset))) {
-                XmlDocument document = parser.parse(inputStream);
-                List<XmlContent> xmlContentList = document.getRoot().getContent();
-                xmlContentList.forEach(XmlContent::detach);
-                return xmlContentList;
-            }
-        } catch (XmlParseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new XmlParseException("Unable to decode content " + content + " with charset " + charset, e);
-        }
+        String decoded = charset.newEncoder().canEncode(content) ? content
+            : new String(content.getBytes(charset), charset);
+        XmlElement root = new XmlElement("root");
+        XmlFragmentParser.getInstance().parseInto(decoded, root, namespaces);
+        List<XmlContent> xmlContentList = root.getContent();
+        root.clear();
+        return xmlContentList;
     }
 
     /**
@@ -1029,4 +1342,21 @@ public class XmlElement extends XmlContent {
     public record TrailingInfo(XmlContent content, boolean trailing) {
     }
 
+    /**
+     * Read-only view on the attribute array.
+     */
+    private final class AttributeView extends AbstractList<XmlAttribute> implements RandomAccess {
+
+        @Override
+        public XmlAttribute get(int index) {
+            return attributeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return attributeCount;
+        }
+
+    }
+
 }
@@ -0,0 +1,19 @@
+package org.mycore.xsonify.xml;
+
+/**
+ * Visitor for traversing an {@link XmlElement} and its descendants without creating intermediate lists.
+ *
+ * @see XmlElement#accept(XmlElementVisitor)
+ */
+@FunctionalInterface
+public interface XmlElementVisitor {
+
+    /**
+     * Visits the given element.
+     *
+     * @param element the current element
+     * @return true if the child elements should be visited, false to skip them
+     */
+    boolean visit(XmlElement element);
+
+}
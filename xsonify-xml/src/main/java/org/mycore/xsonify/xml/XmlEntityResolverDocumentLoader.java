@@ -6,7 +6,9 @@ import org.xml.sax.SAXException;
 import org.xml.sax.ext.EntityResolver2;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * <p>Responsible for loading XML documents from specified system identifiers.</p>
@@ -36,7 +38,9 @@ public class XmlEntityResolverDocumentLoader implements XmlDocumentLoader {
     /**
      * <p>Loads an XML document from a specified system identifier.</p>
      * The system identifier is resolved using the EntityResolver provided in the constructor,
-     * and the content of the document is parsed using the XmlParser provided in the constructor.
+     * and the content of the document is parsed using the XmlParser provided in the constructor. If the resolver
+     * already opened a byte stream it is parsed directly, local files are read by {@link XmlParser#parse(Path)}
+     * and everything else as url.
      *
      * @param systemId The system identifier of the XML document to load.
      * @return The parsed XML document.
@@ -45,10 +49,37 @@ public class XmlEntityResolverDocumentLoader implements XmlDocumentLoader {
      */
     public XmlDocument load(String systemId) throws IOException, SAXException, XmlParseException {
         InputSource source = loadSource(systemId);
+        if (source.getByteStream() != null) {
+            try (InputStream inputStream = source.getByteStream()) {
+                return this.xmlParser.parse(inputStream);
+            }
+        }
         URI uri = URI.create(source.getSystemId());
+        Path path = toPath(uri);
+        if (path != null) {
+            return this.xmlParser.parse(path);
+        }
         return this.xmlParser.parse(uri.toURL());
     }
 
+    /**
+     * Returns the local file of the given uri. File uris with an authority (e.g. {@code file://server/share/x.xsd}),
+     * a query or a fragment have no path on the default file system, these are loaded as url.
+     *
+     * @param uri the uri to convert
+     * @return the path or null if the uri can't be converted
+     */
+    private static Path toPath(URI uri) {
+        if (!"file".equals(uri.getScheme())) {
+            return null;
+        }
+        try {
+            return Path.of(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private InputSource loadSource(String systemId) throws IOException, SAXException {
         if (entityResolver instanceof EntityResolver2) {
             return ((EntityResolver2) entityResolver).resolveEntity(null, null, null, systemId);
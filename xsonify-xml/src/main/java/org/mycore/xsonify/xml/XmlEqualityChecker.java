@@ -1,6 +1,7 @@
 package org.mycore.xsonify.xml;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -11,7 +12,9 @@ import java.util.Map;
  * <p>
  * The equality check is performed using a hash-based strategy that traverses the XML tree,
  * computing hash values based on the element names, attributes, namespaces, text content, and
- * child element ordering. The behavior can be customized by setting various flags:
+ * child element ordering. If the order is significant, the boolean {@link #equals(XmlElement, XmlElement)} check
+ * walks both trees in parallel instead and stops at the first mismatch. The behavior can be customized by setting
+ * various flags:
  * <ul>
  *   <li>{@code ignoreOrder} - if true, the order of child elements and text nodes is ignored.</li>
  *   <li>{@code normalizeText} - if true, text nodes are normalized before comparison.</li>
@@ -81,20 +84,39 @@ public class XmlEqualityChecker {
         return this;
     }
 
+    /**
+     * Creates a {@link XmlDigester} with the same settings as this checker. Its cached subtree digests can be used
+     * to compare or deduplicate many elements.
+     *
+     * @return a new digester
+     */
+    public XmlDigester toDigester() {
+        return new XmlDigester()
+            .setIgnoreOrder(ignoreOrder)
+            .setNormalizeText(normalizeText)
+            .setIgnoreAdditionalNamespaces(ignoreAdditionalNamespaces)
+            .setIgnoreElementPrefix(ignoreElementPrefix);
+    }
+
     /**
      * Compares two XML elements for equality based on the configured settings.
      * <p>
-     * This method computes a hash value for each element (including its content) and
-     * returns true if the hash values match.
+     * If the order is significant, both trees are walked in parallel and the comparison stops at the first
+     * mismatch. Otherwise, a hash value is computed for each element (including its content) and the method
+     * returns true if the hash values match. No difference records are collected in either case.
      *
      * @param e1 the first XML element to compare.
      * @param e2 the second XML element to compare.
      * @return true if the XML elements are considered equal; false otherwise.
      */
     public boolean equals(XmlElement e1, XmlElement e2) {
-        XmlPath basePath1 = XmlPath.of(e1);
-        XmlPath basePath2 = XmlPath.of(e2);
-        return hash(e1, -1, basePath1, new ArrayList<>()) == hash(e2, -1, basePath2, new ArrayList<>());
+        if (!equalsBase(e1, e2)) {
+            return false;
+        }
+        if (ignoreOrder) {
+            return hash(e1, -1, 0, null) == hash(e2, -1, 0, null);
+        }
+        return equalsContent(e1, e2);
     }
 
     /**
@@ -110,48 +132,128 @@ public class XmlEqualityChecker {
      * @return an {@link EqualityResult} object that provides details on any differences.
      */
     public EqualityResult equalsWithResult(XmlElement e1, XmlElement e2) {
-        XmlPath basePath1 = XmlPath.of(e1);
-        XmlPath basePath2 = XmlPath.of(e2);
         List<EqualityRecord> records1 = new ArrayList<>();
         List<EqualityRecord> records2 = new ArrayList<>();
-        int hash1 = hash(e1, -1, basePath1, records1);
-        int hash2 = hash(e2, -1, basePath2, records2);
+        int hash1 = hash(e1, -1, 0, records1);
+        int hash2 = hash(e2, -1, 0, records2);
         if (hash1 == hash2) {
             return new EqualityResult();
         }
         return buildResult(records1, records2);
     }
 
+    /**
+     * Compares the content of two elements position by position, starting with the number of content nodes. Both
+     * elements already have the same base properties.
+     *
+     * @param e1 the first XML element.
+     * @param e2 the second XML element.
+     * @return true if the content of both elements is equal; false at the first mismatch.
+     */
+    private boolean equalsContent(XmlElement e1, XmlElement e2) {
+        if (e1.contentCount() != e2.contentCount()) {
+            return false;
+        }
+        for (int index = 0; index < e1.contentCount(); index++) {
+            XmlContent content1 = e1.contentAt(index);
+            XmlContent content2 = e2.contentAt(index);
+            if (content1 instanceof XmlText text1) {
+                if (!(content2 instanceof XmlText text2) || !textValue(text1).equals(textValue(text2))) {
+                    return false;
+                }
+            } else if (content1 instanceof XmlElement child1) {
+                if (!(content2 instanceof XmlElement child2) || !equalsBase(child1, child2)
+                    || !equalsContent(child1, child2)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the name, additional namespaces and attributes of two elements. These are the properties which
+     * {@link #hashBase(XmlElement, int, int)} takes into account. The number of content nodes is not compared,
+     * because whitespace only texts don't change the hash if the order is ignored.
+     *
+     * @param e1 the first XML element.
+     * @param e2 the second XML element.
+     * @return true if the base properties are equal.
+     */
+    private boolean equalsBase(XmlElement e1, XmlElement e2) {
+        boolean sameName = ignoreElementPrefix ? e1.getExpandedName().equals(e2.getExpandedName())
+                                               : e1.getName().equals(e2.getName());
+        if (!sameName || e1.attributeCount() != e2.attributeCount()) {
+            return false;
+        }
+        if (!ignoreAdditionalNamespaces) {
+            Collection<XmlNamespace> namespaces1 = e1.getAdditionalNamespacesView();
+            Collection<XmlNamespace> namespaces2 = e2.getAdditionalNamespacesView();
+            if (namespaces1.size() != namespaces2.size() || !namespaces2.containsAll(namespaces1)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < e1.attributeCount(); i++) {
+            if (!containsAttribute(e2, e1.attributeAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsAttribute(XmlElement element, XmlAttribute attribute) {
+        for (int i = 0; i < element.attributeCount(); i++) {
+            XmlAttribute other = element.attributeAt(i);
+            if (other.getQualifiedName().equals(attribute.getQualifiedName())
+                && other.getValue().equals(attribute.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Recursively computes a hash for an XML element, including its content.
+     * <p>
+     * The path of the element relative to the compared element is hashed incrementally: the hash of a child path
+     * is derived from the path hash of its parent and the local name of the child.
      *
      * @param element          the XML element to hash.
      * @param positionInParent the element's position in its parent's content list (-1 for root).
-     * @param basePath         the base XML path used for relative path computation.
-     * @param records          a list of {@link EqualityRecord} objects collecting hash details.
+     * @param pathHash         the hash of the element's path relative to the compared element.
+     * @param records          a list of {@link EqualityRecord} objects collecting hash details, or null if no
+     *                         details are required.
      * @return the computed hash value.
      */
-    private int hash(XmlElement element, int positionInParent, XmlPath basePath, List<EqualityRecord> records) {
-        EqualityRecord equalityRecord = new EqualityRecord(element);
-        records.add(equalityRecord);
+    private int hash(XmlElement element, int positionInParent, int pathHash, List<EqualityRecord> records) {
+        EqualityRecord equalityRecord = null;
+        if (records != null) {
+            equalityRecord = new EqualityRecord(element);
+            records.add(equalityRecord);
+        }
 
         // no content
-        int hash = hashBase(element, positionInParent, basePath);
-        equalityRecord.setHashNoContent(hash);
+        int hash = hashBase(element, positionInParent, pathHash);
+        if (equalityRecord != null) {
+            equalityRecord.setHashNoContent(hash);
+        }
 
         // with content
-        List<XmlContent> contentList = element.getContent();
+        List<XmlContent> contentList = element.getContentView();
         for (int index = 0; index < contentList.size(); index++) {
             XmlContent content = contentList.get(index);
             int childHash = 0;
             if (content instanceof XmlText) {
                 childHash = hash((XmlText) content, index);
-            } else if (content instanceof XmlElement) {
-                childHash = hash((XmlElement) content, index, basePath, records);
+            } else if (content instanceof XmlElement childElement) {
+                int childPathHash = pathHash * 31 + childElement.getLocalName().hashCode();
+                childHash = hash(childElement, index, childPathHash, records);
             }
             hash = ignoreOrder ? hash + childHash : hash * 31 + childHash;
         }
-        equalityRecord.setHash(hash);
+        if (equalityRecord != null) {
+            equalityRecord.setHash(hash);
+        }
 
         return hash;
     }
@@ -161,23 +263,23 @@ public class XmlEqualityChecker {
      *
      * @param element          the XML element.
      * @param positionInParent the element's position in its parent's content list.
-     * @param basePath         the base XML path for computing relative paths.
+     * @param pathHash         the hash of the element's path relative to the compared element.
      * @return the computed base hash.
      */
-    private int hashBase(XmlElement element, int positionInParent, XmlPath basePath) {
+    private int hashBase(XmlElement element, int positionInParent, int pathHash) {
         int hash = 0;
         hash += ignoreElementPrefix ? element.getExpandedName().hashCode() : element.getName().hashCode();
-        hash += XmlPath.of(element).relativeTo(basePath).toStringIgnorePrefix().hashCode();
+        hash += pathHash;
         if (!ignoreOrder) {
             hash += Integer.hashCode(positionInParent);
         }
         if (!ignoreAdditionalNamespaces) {
-            for (XmlNamespace additionalNamespace : element.getAdditionalNamespaces()) {
+            for (XmlNamespace additionalNamespace : element.getAdditionalNamespacesView()) {
                 hash += hash(additionalNamespace);
             }
         }
-        for (XmlAttribute attribute : element.getAttributes()) {
-            hash += hash(attribute);
+        for (int i = 0; i < element.attributeCount(); i++) {
+            hash += hash(element.attributeAt(i));
         }
         return hash;
     }
@@ -191,13 +293,23 @@ public class XmlEqualityChecker {
      */
     private int hash(XmlText text, int positionInParent) {
         int hash = 0;
-        hash += normalizeText ? text.normalize().hashCode() : text.toString().trim().hashCode();
+        hash += textValue(text).hashCode();
         if (!ignoreOrder) {
             hash += Integer.hashCode(positionInParent);
         }
         return hash;
     }
 
+    /**
+     * Returns the text value which is compared, depending on {@code normalizeText}.
+     *
+     * @param text the XML text node.
+     * @return the normalized or trimmed text.
+     */
+    private String textValue(XmlText text) {
+        return normalizeText ? text.normalize() : text.toString().trim();
+    }
+
     /**
      * Computes the hash for an XML namespace.
      *
@@ -332,7 +444,7 @@ public class XmlEqualityChecker {
         private String getDifference(Map<Integer, EqualityRecord> equalityRecordMap) {
             StringBuilder sb = new StringBuilder();
             for (EqualityRecord record : equalityRecordMap.values()) {
-                sb.append(record.path).append(System.lineSeparator());
+                sb.append(record.getPath()).append(System.lineSeparator());
                 sb.append(record.element.toPrettyXml()).append(System.lineSeparator());
             }
             return sb.toString();
@@ -351,13 +463,13 @@ public class XmlEqualityChecker {
     }
 
     /**
-     * Internal record that holds hash values and the XML path for an element.
+     * Internal record that holds hash values for an element. The XML path is only created when it is requested.
      */
     private static final class EqualityRecord {
 
         private final XmlElement element;
 
-        private final XmlPath path;
+        private XmlPath path;
 
         private int hash;
 
@@ -365,7 +477,6 @@ public class XmlEqualityChecker {
 
         private EqualityRecord(XmlElement element) {
             this.element = element;
-            this.path = XmlPath.of(element);
         }
 
         public XmlElement getElement() {
@@ -373,6 +484,9 @@ public class XmlEqualityChecker {
         }
 
         public XmlPath getPath() {
+            if (path == null) {
+                path = XmlPath.of(element);
+            }
             return path;
         }
 
@@ -0,0 +1,127 @@
+package org.mycore.xsonify.xml;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * <p>Parses an XML fragment, like the mixed content of an element, directly into a parent {@link XmlElement}.</p>
+ *
+ * <p>The fragment is read as characters, so no charset encoding is involved. Prefixes in the fragment are resolved
+ * with a supplied namespace context, by default the namespaces in scope of the parent. Parsed elements and texts
+ * are appended to the parent, they don't redeclare namespaces which are part of the context. If the fragment is not
+ * well-formed, the parent is left unchanged.</p>
+ *
+ * <p>The SAX parsers are borrowed from a {@link XmlPooledSaxParser}, so one instance can be shared between
+ * threads.</p>
+ */
+public class XmlFragmentParser {
+
+    private static final XmlFragmentParser INSTANCE = new XmlFragmentParser();
+
+    private final XmlPooledSaxParser saxParser;
+
+    /**
+     * Creates a new fragment parser using the shared {@link XmlPooledSaxParser}.
+     */
+    public XmlFragmentParser() {
+        this(XmlPooledSaxParser.getInstance());
+    }
+
+    /**
+     * Creates a new fragment parser.
+     *
+     * @param saxParser the pool of SAX parsers to use
+     */
+    public XmlFragmentParser(XmlPooledSaxParser saxParser) {
+        this.saxParser = Objects.requireNonNull(saxParser);
+    }
+
+    /**
+     * Returns the shared application-wide instance.
+     *
+     * @return the shared fragment parser
+     */
+    public static XmlFragmentParser getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Parses the fragment and appends its content to the parent. Prefixes are resolved with the namespaces in
+     * scope of the parent.
+     *
+     * @param fragment the fragment to parse, e.g. {@code Open <b>S</b>ource}
+     * @param parent   the element to append the content to
+     * @throws XmlParseException if the fragment could not be parsed
+     */
+    public void parseInto(String fragment, XmlElement parent) throws XmlParseException {
+        parseInto(fragment, parent, parent.getNamespacesInScope().values());
+    }
+
+    /**
+     * Parses the fragment and appends its content to the parent.
+     *
+     * @param fragment   the fragment to parse, e.g. {@code Open <b>S</b>ource}
+     * @param parent     the element to append the content to
+     * @param namespaces the namespaces used to resolve the prefixes of the fragment
+     * @throws XmlParseException if the fragment could not be parsed
+     */
+    public void parseInto(String fragment, XmlElement parent, Collection<XmlNamespace> namespaces)
+        throws XmlParseException {
+        // the fragment needs a wrapper element which declares the namespace context
+        StringBuilder sb = new StringBuilder(fragment.length() + 16 + namespaces.size() * 48);
+        sb.append("<fragment");
+        namespaces.forEach(namespace -> sb.append(' ').append(namespace.toString()));
+        sb.append('>').append(fragment).append("</fragment>");
+
+        int contentCount = parent.contentCount();
+        try {
+            saxParser.parse(new InputSource(new StringReader(sb.toString())), new FragmentBuilder(parent));
+        } catch (XmlParseException | IOException | RuntimeException e) {
+            // restore the parent
+            while (parent.contentCount() > contentCount) {
+                parent.remove(parent.contentAt(parent.contentCount() - 1));
+            }
+            if (e instanceof XmlParseException xmlParseException) {
+                throw xmlParseException;
+            }
+            throw new XmlParseException("Unable to parse fragment " + fragment, e);
+        }
+    }
+
+    /**
+     * SAX builder which skips the wrapper element and appends its content to the target element.
+     */
+    private static final class FragmentBuilder extends XmlSaxBuilder {
+
+        private final XmlElement target;
+
+        private FragmentBuilder(XmlElement target) {
+            this.target = target;
+        }
+
+        @Override
+        public void startDocument() {
+            textBuffer.setLength(0);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+            throws SAXException {
+            if (!elementStack.isEmpty()) {
+                super.startElement(uri, localName, qName, attributes);
+                return;
+            }
+            // wrapper element: its namespaces are already in scope of the target
+            inheritedNamespaces.putAll(prefixToNamespaceMap);
+            elementStack.push(target);
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.mycore.xsonify.xml;
 
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
@@ -7,11 +8,53 @@ import java.util.function.Function;
  * <p>
  * The namespace includes a prefix and a namespace URI. If the namespace has a prefix, the qualified name of the XML
  * name will be in the form "prefix:localName". Otherwise, it will just be the local name.
- *
- * @param local local name like 'title'
- * @param namespace namespace part with prefix and uri
+ * <p>
+ * Instances are immutable. The qualified and expanded forms are computed once on first access and cached, so that
+ * names which are shared, e.g. by an {@link XmlSymbolTable}, do not allocate them again on each call.
  */
-public record XmlName(String local, XmlNamespace namespace) {
+public final class XmlName {
+
+    private final String local;
+
+    private final XmlNamespace namespace;
+
+    private XmlQualifiedName qualifiedName;
+
+    private XmlExpandedName expandedName;
+
+    /**
+     * Cached hash code, 0 if not computed yet.
+     */
+    private int hash;
+
+    /**
+     * Creates a new XML name.
+     *
+     * @param local     local name like 'title'
+     * @param namespace namespace part with prefix and uri
+     */
+    public XmlName(String local, XmlNamespace namespace) {
+        this.local = local;
+        this.namespace = namespace;
+    }
+
+    /**
+     * Returns the local name.
+     *
+     * @return the local name
+     */
+    public String local() {
+        return local;
+    }
+
+    /**
+     * Returns the namespace.
+     *
+     * @return the namespace
+     */
+    public XmlNamespace namespace() {
+        return namespace;
+    }
 
     /**
      * Returns the prefix of the namespace of this XML name.
@@ -37,7 +80,12 @@ public record XmlName(String local, XmlNamespace namespace) {
      * @return the qualified name
      */
     public XmlQualifiedName qualifiedName() {
-        return new XmlQualifiedName(namespace.hasPrefix() ? prefix() : "", local);
+        XmlQualifiedName qualifiedName = this.qualifiedName;
+        if (qualifiedName == null) {
+            qualifiedName = new XmlQualifiedName(namespace.hasPrefix() ? prefix() : "", local);
+            this.qualifiedName = qualifiedName;
+        }
+        return qualifiedName;
     }
 
     /**
@@ -46,7 +94,12 @@ public record XmlName(String local, XmlNamespace namespace) {
      * @return an XmlExpandedName that represents the expanded name
      */
     public XmlExpandedName expandedName() {
-        return new XmlExpandedName(local, namespace.uri());
+        XmlExpandedName expandedName = this.expandedName;
+        if (expandedName == null) {
+            expandedName = new XmlExpandedName(local, namespace.uri());
+            this.expandedName = expandedName;
+        }
+        return expandedName;
     }
 
     /**
@@ -67,6 +120,27 @@ public record XmlName(String local, XmlNamespace namespace) {
         return new XmlName(localName, new XmlNamespace(prefix, uri));
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof XmlName other)) {
+            return false;
+        }
+        return Objects.equals(local, other.local) && Objects.equals(namespace, other.namespace);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = Objects.hash(local, namespace);
+            this.hash = hash;
+        }
+        return hash;
+    }
+
     @Override
     public String toString() {
         return this.namespace != null ? this.qualifiedName().toString() : this.local;
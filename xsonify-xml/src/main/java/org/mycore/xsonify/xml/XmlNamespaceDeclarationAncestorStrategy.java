@@ -1,33 +1,48 @@
 package org.mycore.xsonify.xml;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * An implementation of the {@link XmlNamespaceDeclarationStrategy} that attempts to declare XML namespaces
  * at the nearest common ancestor of XML elements using the namespace.
+ * <p>
+ * The introduced namespaces are collected in a single depth-first pass. For each namespace the lowest common
+ * ancestor of the introducing elements is updated incrementally: because the elements are visited in document
+ * order, the new common ancestor is the first ancestor of the previous one which is part of the current path.
  */
 public class XmlNamespaceDeclarationAncestorStrategy implements XmlNamespaceDeclarationStrategy {
 
     @Override
     public void apply(XmlElement element) throws XmlException {
-        Map<XmlNamespace, List<XmlElement>> namespaceElementMap = new HashMap<>();
-        collect(element, namespaceElementMap);
-        for (Map.Entry<XmlNamespace, List<XmlElement>> entry : namespaceElementMap.entrySet()) {
+        Map<XmlNamespace, NamespaceUsage> namespaceUsageMap = new LinkedHashMap<>();
+        new XmlNamespaceIntroductionWalker() {
+            @Override
+            void introduced(XmlElement introducingElement, int depth, XmlNamespace namespace) {
+                NamespaceUsage usage = namespaceUsageMap.get(namespace);
+                if (usage == null) {
+                    namespaceUsageMap.put(namespace, new NamespaceUsage(introducingElement, depth));
+                } else {
+                    usage.add(introducingElement, depth, this);
+                }
+            }
+        }.walk(element);
+
+        for (Map.Entry<XmlNamespace, NamespaceUsage> entry : namespaceUsageMap.entrySet()) {
             XmlNamespace namespace = entry.getKey();
-            List<XmlElement> elements = entry.getValue();
-            if (elements.size() == 1) {
+            NamespaceUsage usage = entry.getValue();
+            if (usage.elements.size() == 1) {
                 continue;
             }
             // find ancestor
-            XmlElement commonAncestor = findCommonAncestor(elements);
+            XmlElement commonAncestor = usage.commonAncestor();
             if (commonAncestor == null) {
                 throw new XmlException("Unable to find common ancestor for namespace " + namespace);
             }
             // remove from element
-            for (XmlElement namespaceElement : elements) {
+            for (XmlElement namespaceElement : usage.elements) {
                 namespaceElement.removeAdditionalNamespace(namespace);
             }
             // add to ancestor
@@ -36,61 +51,55 @@ public class XmlNamespaceDeclarationAncestorStrategy implements XmlNamespaceDecl
     }
 
     /**
-     * Recursively collects namespaces and associates them with the XML elements that introduce them.
-     *
-     * @param element             the current XML element being inspected
-     * @param namespaceElementMap a map from namespaces to the XML elements that introduce them
+     * The elements which introduce a namespace and their lowest common ancestor.
      */
-    private void collect(XmlElement element, Map<XmlNamespace, List<XmlElement>> namespaceElementMap) {
-        for (XmlNamespace namespace : element.getNamespacesIntroduced().values()) {
-            namespaceElementMap.putIfAbsent(namespace, new ArrayList<>());
-            namespaceElementMap.get(namespace).add(element);
-        }
-        for (XmlElement childElement : element.getElements()) {
-            collect(childElement, namespaceElementMap);
+    private static final class NamespaceUsage {
+
+        private final List<XmlElement> elements;
+
+        private XmlElement lowestCommonAncestor;
+
+        private int lowestCommonAncestorDepth;
+
+        /**
+         * True if the lowest common ancestor is one of the elements itself.
+         */
+        private boolean lowestCommonAncestorIntroduces;
+
+        private NamespaceUsage(XmlElement element, int depth) {
+            this.elements = new ArrayList<>();
+            this.elements.add(element);
+            this.lowestCommonAncestor = element;
+            this.lowestCommonAncestorDepth = depth;
+            this.lowestCommonAncestorIntroduces = true;
         }
-    }
 
-    /**
-     * Identifies the nearest common ancestor element for a list of XML elements.
-     *
-     * @param elements a list of XML elements
-     * @return the nearest common ancestor element, or null if no common ancestor exists
-     */
-    private XmlElement findCommonAncestor(List<XmlElement> elements) {
-        XmlElement ancestor = elements.get(0).getParent();
-        while (ancestor != null) {
-            boolean commonAncestorFound = true;
-            for (XmlElement element : elements) {
-                if (!isDescendantOf(element, ancestor)) {
-                    commonAncestorFound = false;
-                    break;
-                }
+        private void add(XmlElement element, int depth, XmlNamespaceIntroductionWalker walker) {
+            this.elements.add(element);
+            // move up until the ancestor is part of the path of the new element
+            XmlElement ancestor = lowestCommonAncestor;
+            int ancestorDepth = lowestCommonAncestorDepth;
+            while (ancestorDepth > depth || walker.pathAt(ancestorDepth) != ancestor) {
+                ancestor = ancestor.getParent();
+                ancestorDepth--;
             }
-            if (commonAncestorFound) {
-                break;
+            if (ancestor != lowestCommonAncestor) {
+                // an element is visited after its ancestors, so the new common ancestor doesn't introduce it
+                lowestCommonAncestor = ancestor;
+                lowestCommonAncestorDepth = ancestorDepth;
+                lowestCommonAncestorIntroduces = false;
             }
-            ancestor = ancestor.getParent();
         }
-        return ancestor;
-    }
 
-    /**
-     * Determines if one XML element is a descendant of another.
-     *
-     * @param element the potential descendant XML element
-     * @param other   the potential ancestor XML element
-     * @return true if 'element' is a descendant of 'other', false otherwise
-     */
-    private boolean isDescendantOf(XmlElement element, XmlElement other) {
-        XmlElement ancestor = element.getParent();
-        while (ancestor != null) {
-            if (ancestor == other) {
-                return true;
-            }
-            ancestor = ancestor.getParent();
+        /**
+         * Returns the nearest element which is an ancestor of all elements.
+         *
+         * @return the nearest common ancestor element, or null if no common ancestor exists
+         */
+        private XmlElement commonAncestor() {
+            return lowestCommonAncestorIntroduces ? lowestCommonAncestor.getParent() : lowestCommonAncestor;
         }
-        return false;
+
     }
 
 }
@@ -0,0 +1,151 @@
+package org.mycore.xsonify.xml;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Depth-first traversal which reports the namespaces each element introduces, like
+ * {@link XmlElement#getNamespacesIntroduced()}, in a single pass.</p>
+ *
+ * <p>Instead of building a namespace scope per element, the prefix bindings are kept in one map. Bindings changed
+ * by an element are recorded on an undo stack and restored when the traversal leaves the element. The elements of
+ * the current path are available by depth, see {@link #pathAt(int)}.</p>
+ *
+ * <p>A walker is not thread safe and should be used for a single traversal.</p>
+ */
+abstract class XmlNamespaceIntroductionWalker {
+
+    private final Map<String, XmlNamespace> bindings = new HashMap<>();
+
+    private String[] undoPrefixes = new String[16];
+
+    private XmlNamespace[] undoNamespaces = new XmlNamespace[16];
+
+    private int undoCount;
+
+    private String[] localPrefixes = new String[8];
+
+    private XmlElement[] path = new XmlElement[16];
+
+    /**
+     * Walks the subtree of the given element. Namespaces in scope of the parent of the element are not reported.
+     * The element itself has depth 0.
+     *
+     * @param root the element to start with
+     * @throws XmlException if the callback fails
+     */
+    void walk(XmlElement root) throws XmlException {
+        bindings.clear();
+        bindings.put(XmlNamespace.XML.prefix(), XmlNamespace.XML);
+        bindings.put(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
+        if (root.getParent() != null) {
+            bindings.putAll(root.getParent().getNamespacesInScope());
+        }
+        undoCount = 0;
+        walk(root, 0);
+    }
+
+    /**
+     * Called for every element before its namespaces are reported.
+     *
+     * @param element the element
+     * @param depth   the depth of the element, 0 for the root
+     * @throws XmlException if the element can't be handled
+     */
+    void visit(XmlElement element, int depth) throws XmlException {
+    }
+
+    /**
+     * Called for each namespace the element introduces, in the order of {@link XmlElement#getNamespacesLocal()}.
+     *
+     * @param element   the element
+     * @param depth     the depth of the element, 0 for the root
+     * @param namespace the introduced namespace
+     * @throws XmlException if the namespace can't be handled
+     */
+    abstract void introduced(XmlElement element, int depth, XmlNamespace namespace) throws XmlException;
+
+    /**
+     * Returns the element of the current path at the given depth.
+     *
+     * @param depth the depth, has to be lower or equal than the depth of the current element
+     * @return the ancestor or self at this depth
+     */
+    XmlElement pathAt(int depth) {
+        return path[depth];
+    }
+
+    private void walk(XmlElement element, int depth) throws XmlException {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = element;
+        visit(element, depth);
+
+        int mark = undoCount;
+        int localCount = 0;
+        XmlNamespace elementNamespace = element.getNamespace();
+        if (!XmlNamespace.EMPTY.equals(elementNamespace)) {
+            localCount = bind(element, depth, elementNamespace, localCount);
+        }
+        for (XmlNamespace additionalNamespace : element.getAdditionalNamespacesView()) {
+            localCount = bind(element, depth, additionalNamespace, localCount);
+        }
+        for (int i = 0; i < element.attributeCount(); i++) {
+            XmlNamespace attributeNamespace = element.attributeAt(i).getNamespace();
+            if (!XmlNamespace.EMPTY.equals(attributeNamespace)) {
+                localCount = bind(element, depth, attributeNamespace, localCount);
+            }
+        }
+
+        for (XmlElement childElement : element.getElementsView()) {
+            walk(childElement, depth + 1);
+        }
+
+        // restore the bindings of the parent
+        while (undoCount > mark) {
+            undoCount--;
+            XmlNamespace previous = undoNamespaces[undoCount];
+            if (previous == null) {
+                bindings.remove(undoPrefixes[undoCount]);
+            } else {
+                bindings.put(undoPrefixes[undoCount], previous);
+            }
+            undoNamespaces[undoCount] = null;
+        }
+        path[depth] = null;
+    }
+
+    private int bind(XmlElement element, int depth, XmlNamespace namespace, int localCount) throws XmlException {
+        String prefix = namespace.prefix();
+        // the first namespace of a prefix wins, the xml prefix can't be rebound
+        if (XmlNamespace.XML.prefix().equals(prefix)) {
+            return localCount;
+        }
+        for (int i = 0; i < localCount; i++) {
+            if (localPrefixes[i].equals(prefix)) {
+                return localCount;
+            }
+        }
+        if (localCount == localPrefixes.length) {
+            localPrefixes = Arrays.copyOf(localPrefixes, localCount * 2);
+        }
+        localPrefixes[localCount] = prefix;
+
+        XmlNamespace previous = bindings.put(prefix, namespace);
+        if (namespace.equals(previous)) {
+            return localCount + 1;
+        }
+        if (undoCount == undoPrefixes.length) {
+            undoPrefixes = Arrays.copyOf(undoPrefixes, undoCount * 2);
+            undoNamespaces = Arrays.copyOf(undoNamespaces, undoCount * 2);
+        }
+        undoPrefixes[undoCount] = prefix;
+        undoNamespaces[undoCount] = previous;
+        undoCount++;
+        introduced(element, depth, namespace);
+        return localCount + 1;
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.mycore.xsonify.xml;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Immutable snapshot of the namespaces in scope of an {@link XmlElement}.</p>
+ *
+ * <p>A scope is built once from the local namespaces of an element and the scope of its parent. It is cached by the
+ * element until its namespaces or its parent change. If an element does not change anything in comparison to its
+ * parent, the parent's namespace map is shared instead of being copied.</p>
+ */
+final class XmlNamespaceScope {
+
+    private final Map<String, XmlNamespace> inScope;
+
+    private final Map<String, XmlNamespace> introduced;
+
+    private XmlNamespaceScope(Map<String, XmlNamespace> inScope, Map<String, XmlNamespace> introduced) {
+        this.inScope = inScope;
+        this.introduced = introduced;
+    }
+
+    /**
+     * Returns an unmodifiable prefix:namespace map of all namespaces in scope.
+     *
+     * @return map of namespaces in scope
+     */
+    Map<String, XmlNamespace> inScope() {
+        return inScope;
+    }
+
+    /**
+     * Returns an unmodifiable prefix:namespace map of the namespaces which are introduced first by the element.
+     *
+     * @return map of introduced namespaces
+     */
+    Map<String, XmlNamespace> introduced() {
+        return introduced;
+    }
+
+    /**
+     * Creates the namespace scope of the given element.
+     *
+     * @param element     the element to create the scope for
+     * @param parentScope the scope of the parent element or null if the element is the root
+     * @return a new scope
+     */
+    static XmlNamespaceScope of(XmlElement element, XmlNamespaceScope parentScope) {
+        LinkedHashMap<String, XmlNamespace> inScope = new LinkedHashMap<>();
+        // add xml namespace first
+        inScope.put(XmlNamespace.XML.prefix(), XmlNamespace.XML);
+        // add local namespaces
+        element.getNamespacesLocal().forEach(inScope::putIfAbsent);
+        // root element
+        if (parentScope == null) {
+            inScope.putIfAbsent(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
+            LinkedHashMap<String, XmlNamespace> introduced = new LinkedHashMap<>(inScope);
+            introduced.remove(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
+            introduced.remove(XmlNamespace.XML.prefix());
+            return new XmlNamespaceScope(Collections.unmodifiableMap(inScope), unmodifiable(introduced));
+        }
+        // add parent namespaces
+        parentScope.inScope.forEach(inScope::putIfAbsent);
+        // all other -> difference between parent and this element
+        LinkedHashMap<String, XmlNamespace> introduced = new LinkedHashMap<>();
+        inScope.forEach((prefix, namespace) -> {
+            if (!namespace.equals(parentScope.inScope.get(prefix))) {
+                introduced.put(prefix, namespace);
+            }
+        });
+        if (introduced.isEmpty() && sameOrder(inScope, parentScope.inScope)) {
+            return new XmlNamespaceScope(parentScope.inScope, Collections.emptyMap());
+        }
+        return new XmlNamespaceScope(Collections.unmodifiableMap(inScope), unmodifiable(introduced));
+    }
+
+    private static Map<String, XmlNamespace> unmodifiable(Map<String, XmlNamespace> map) {
+        return map.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+    }
+
+    private static boolean sameOrder(Map<String, XmlNamespace> map, Map<String, XmlNamespace> other) {
+        if (map.size() != other.size()) {
+            return false;
+        }
+        Iterator<String> otherIterator = other.keySet().iterator();
+        for (String prefix : map.keySet()) {
+            if (!Objects.equals(prefix, otherIterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
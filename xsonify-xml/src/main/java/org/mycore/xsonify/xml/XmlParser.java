@@ -3,13 +3,18 @@ package org.mycore.xsonify.xml;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * <p>Interface for XML parsing functionality.</p>
  *
  * <p>The interface provides a unified way to parse XML data from different types of sources,
- * such as an {@link InputStream} or a {@link URL}. Parsing exceptions are propagated
- * to the caller in form of {@link XmlParseException} or {@link IOException}.</p>
+ * such as an {@link InputStream}, a {@link URL}, a local {@link Path} or a {@link ByteBuffer}. Parsing exceptions
+ * are propagated to the caller in form of {@link XmlParseException} or {@link IOException}.</p>
  */
 public interface XmlParser {
 
@@ -41,4 +46,50 @@ public interface XmlParser {
         }
     }
 
+    /**
+     * Parse XML content from the given local file into an {@link XmlDocument}. Large files are memory-mapped
+     * instead of being copied through a stream.
+     *
+     * @param path the file from which XML data is read
+     * @return the parsed XmlDocument
+     * @throws XmlParseException if an error occurs during parsing of the XML data
+     * @throws IOException if an I/O error occurs when reading the file
+     */
+    default XmlDocument parse(Path path) throws XmlParseException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(channel);
+        } catch (IOException ioException) {
+            throw new IOException("Unable to parse " + path, ioException);
+        } catch (XmlParseException xmlParseException) {
+            throw new XmlParseException("Unable to parse " + path, xmlParseException);
+        }
+    }
+
+    /**
+     * Parse XML content from the given channel into an {@link XmlDocument}. The remaining content of a
+     * {@link FileChannel} is read directly, and memory-mapped if it is large. Files above 2 GiB are streamed.
+     * The channel is not closed.
+     *
+     * @param channel the channel from which XML data is read
+     * @return the parsed XmlDocument
+     * @throws XmlParseException if an error occurs during parsing of the XML data
+     * @throws IOException if an I/O error occurs when reading from the channel
+     */
+    default XmlDocument parse(ReadableByteChannel channel) throws XmlParseException, IOException {
+        return XmlChannelReader.parse(this, channel);
+    }
+
+    /**
+     * Parse the remaining XML content of the given buffer into an {@link XmlDocument}. The position of the buffer is
+     * not changed.
+     *
+     * @param buffer the buffer from which XML data is read
+     * @return the parsed XmlDocument
+     * @throws XmlParseException if an error occurs during parsing of the XML data
+     * @throws IOException if an I/O error occurs when reading from the buffer
+     */
+    default XmlDocument parse(ByteBuffer buffer) throws XmlParseException, IOException {
+        return parse(new XmlByteBufferInputStream(buffer));
+    }
+
 }
@@ -0,0 +1,362 @@
+package org.mycore.xsonify.xml;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Extracts the values of a set of {@link XmlPath}s from a document while it is parsed, without building
+ * {@link XmlElement}s.</p>
+ *
+ * <p>The paths are compiled into a matcher automaton: a tree of states, one per path prefix, with transitions by
+ * expanded element name. While the SAX events are processed, a stack holds the state of each open element. Elements
+ * outside of all paths have no state and their subtree is skipped by the matcher. For element paths the text of the
+ * matching elements is collected, like {@link XmlElement#getText()}, for attribute paths the attribute values.</p>
+ *
+ * <p>Targets are either single-valued ({@link Builder#first(String, XmlPath)}) or multi-valued
+ * ({@link Builder#all(String, XmlPath)}). If there are only single-valued targets, parsing stops as soon as every
+ * target has its value.</p>
+ *
+ * <p>An extractor is immutable and can be shared between threads. It parses with the shared
+ * {@link XmlPooledSaxParser}.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ *   XmlPathExtractor extractor = new XmlPathExtractor.Builder()
+ *       .first("title", XmlPath.of("/mods:mods/mods:titleInfo/mods:title", namespaces))
+ *       .all("authority", XmlPath.of("/mods:mods/mods:name/@authorityURI", namespaces))
+ *       .build();
+ *   XmlPathExtractor.Result result = extractor.extract(inputStream);
+ *   String title = result.get("title");
+ * </pre>
+ */
+public final class XmlPathExtractor {
+
+    private final State root;
+
+    private final List<String> keys;
+
+    private final int singleValuedCount;
+
+    private final boolean hasMultiValued;
+
+    private final XmlPooledSaxParser saxParser;
+
+    private XmlPathExtractor(Builder builder) {
+        this.root = builder.root;
+        this.keys = List.copyOf(builder.keys);
+        this.singleValuedCount = builder.singleValuedCount;
+        this.hasMultiValued = builder.singleValuedCount < builder.keys.size();
+        this.saxParser = builder.saxParser;
+    }
+
+    /**
+     * Parses the input stream and collects the values of all targets.
+     *
+     * @param inputStream the document to parse
+     * @return the extracted values
+     * @throws XmlParseException if the document is not well-formed
+     * @throws IOException       if the stream can't be read
+     */
+    public Result extract(InputStream inputStream) throws XmlParseException, IOException {
+        ExtractHandler handler = new ExtractHandler();
+        try {
+            saxParser.parse(inputStream, handler);
+        } catch (XmlParseException e) {
+            if (!(e.getCause() instanceof StopException)) {
+                throw e;
+            }
+        }
+        return new Result(handler.values);
+    }
+
+    /**
+     * The extracted values by target key.
+     */
+    public static final class Result {
+
+        private final Map<String, List<String>> values;
+
+        private Result(Map<String, List<String>> values) {
+            this.values = values;
+        }
+
+        /**
+         * Returns the first value of the target.
+         *
+         * @param key the key of the target
+         * @return the value or null if nothing matched
+         */
+        public String get(String key) {
+            List<String> list = values.get(key);
+            return list != null && !list.isEmpty() ? list.get(0) : null;
+        }
+
+        /**
+         * Returns all values of the target in document order.
+         *
+         * @param key the key of the target
+         * @return unmodifiable list of values
+         */
+        public List<String> getAll(String key) {
+            List<String> list = values.get(key);
+            return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+        }
+
+        /**
+         * Returns all values by target key, in the order the targets were added.
+         *
+         * @return unmodifiable map of values
+         */
+        public Map<String, List<String>> asMap() {
+            return Collections.unmodifiableMap(values);
+        }
+
+    }
+
+    /**
+     * Collects the targets and compiles them into the matcher automaton.
+     */
+    public static final class Builder {
+
+        private final State root = new State(null, null);
+
+        private final List<String> keys = new ArrayList<>();
+
+        private int singleValuedCount;
+
+        private XmlPooledSaxParser saxParser = XmlPooledSaxParser.getInstance();
+
+        /**
+         * Adds a single-valued target. Only the value of the first match is collected.
+         *
+         * @param key  the key of the target in the result
+         * @param path the element or attribute path
+         * @return this builder
+         * @throws XmlException if the path is invalid
+         */
+        public Builder first(String key, XmlPath path) throws XmlException {
+            add(key, path, true);
+            singleValuedCount++;
+            return this;
+        }
+
+        /**
+         * Adds a multi-valued target. The values of all matches are collected.
+         *
+         * @param key  the key of the target in the result
+         * @param path the element or attribute path
+         * @return this builder
+         * @throws XmlException if the path is invalid
+         */
+        public Builder all(String key, XmlPath path) throws XmlException {
+            add(key, path, false);
+            return this;
+        }
+
+        /**
+         * Sets the parser pool to use. Default is the shared {@link XmlPooledSaxParser}.
+         *
+         * @param saxParser the parser pool
+         * @return this builder
+         */
+        public Builder saxParser(XmlPooledSaxParser saxParser) {
+            this.saxParser = Objects.requireNonNull(saxParser);
+            return this;
+        }
+
+        /**
+         * Creates the extractor.
+         *
+         * @return a new extractor
+         */
+        public XmlPathExtractor build() {
+            return new XmlPathExtractor(this);
+        }
+
+        private void add(String key, XmlPath path, boolean single) throws XmlException {
+            Objects.requireNonNull(key);
+            if (keys.contains(key)) {
+                throw new IllegalArgumentException("Duplicate target key '" + key + "'.");
+            }
+            // validates the path
+            XmlPathQuery.compile(path);
+            State state = root;
+            for (XmlPath.Node node : path) {
+                if (node.isAttribute()) {
+                    state.attributeTargets.add(new Target(keys.size(), key, single, node.name()));
+                    keys.add(key);
+                    return;
+                }
+                state = state.child(node.name().uri(), node.name().local(), true);
+            }
+            state.textTargets.add(new Target(keys.size(), key, single, null));
+            keys.add(key);
+        }
+
+    }
+
+    /**
+     * A target of the extraction. The attribute name is null for element targets.
+     */
+    private record Target(int index, String key, boolean single, XmlName attribute) {
+    }
+
+    /**
+     * State of the matcher automaton. A state is reached if the names of the open elements match a path prefix.
+     */
+    private static final class State {
+
+        private final String uri;
+
+        private final String local;
+
+        /**
+         * Transitions by local name, usually with a single state per local name.
+         */
+        private final Map<String, List<State>> children = new HashMap<>();
+
+        private final List<Target> textTargets = new ArrayList<>();
+
+        private final List<Target> attributeTargets = new ArrayList<>();
+
+        private State(String uri, String local) {
+            this.uri = uri;
+            this.local = local;
+        }
+
+        private State child(String uri, String local, boolean create) {
+            List<State> candidates = children.get(local);
+            if (candidates != null) {
+                for (State candidate : candidates) {
+                    if (candidate.uri.equals(uri)) {
+                        return candidate;
+                    }
+                }
+            }
+            if (!create) {
+                return null;
+            }
+            State state = new State(uri, local);
+            children.computeIfAbsent(local, k -> new ArrayList<>(1)).add(state);
+            return state;
+        }
+
+    }
+
+    /**
+     * Signals that all single-valued targets are found.
+     */
+    private static final class StopException extends SAXException {
+
+        private static final long serialVersionUID = 1L;
+
+        private StopException() {
+            super("All targets found");
+        }
+
+    }
+
+    private final class ExtractHandler extends DefaultHandler {
+
+        private final Map<String, List<String>> values;
+
+        private final boolean[] found;
+
+        private int remaining;
+
+        private State[] states = new State[32];
+
+        private StringBuilder[] texts = new StringBuilder[32];
+
+        private int depth;
+
+        private ExtractHandler() {
+            this.values = new LinkedHashMap<>();
+            for (String key : keys) {
+                this.values.put(key, new ArrayList<>(1));
+            }
+            this.found = new boolean[keys.size()];
+            this.remaining = singleValuedCount;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+            throws SAXException {
+            State parent = depth == 0 ? root : states[depth - 1];
+            State state = parent != null ? parent.child(uri, localName, false) : null;
+            if (depth == states.length) {
+                states = Arrays.copyOf(states, depth * 2);
+                texts = Arrays.copyOf(texts, depth * 2);
+            }
+            states[depth] = state;
+            texts[depth] = state != null && !state.textTargets.isEmpty() ? new StringBuilder() : null;
+            depth++;
+            if (state == null) {
+                return;
+            }
+            for (Target target : state.attributeTargets) {
+                String value = attributes.getValue(target.attribute().uri(), target.attribute().local());
+                if (value != null) {
+                    collect(target, value);
+                }
+            }
+        }
+
+        /**
+         * Collects the text of a matching element. Whitespace only chunks are ignored like in {@link XmlSaxBuilder},
+         * so the value is the same as {@link XmlElement#getText()} of the parsed element.
+         */
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            StringBuilder text = depth > 0 ? texts[depth - 1] : null;
+            if (text != null && !XmlSaxBuilder.isIgnorableWhitespace(ch, start, length)) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            depth--;
+            State state = states[depth];
+            StringBuilder text = texts[depth];
+            states[depth] = null;
+            texts[depth] = null;
+            if (text == null) {
+                return;
+            }
+            String value = text.toString();
+            for (Target target : state.textTargets) {
+                collect(target, value);
+            }
+        }
+
+        private void collect(Target target, String value) throws StopException {
+            if (!target.single()) {
+                values.get(target.key()).add(value);
+                return;
+            }
+            if (found[target.index()]) {
+                return;
+            }
+            found[target.index()] = true;
+            values.get(target.key()).add(value);
+            if (--remaining == 0 && !hasMultiValued) {
+                throw new StopException();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.mycore.xsonify.xml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>Compiled form of an {@link XmlPath} which can be evaluated against many documents.</p>
+ *
+ * <p>The path is validated once and split into the element steps and an optional trailing attribute. The query is
+ * immutable and can be shared between threads and reused for any number of {@link XmlDocument}s. Each step looks
+ * up the matching children by name, elements with many children use their child index for this, see
+ * {@link XmlElement#getElements(XmlName)}.</p>
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ *   XmlPathQuery titleQuery = XmlPathQuery.compile(XmlPath.of("/mods:mods/mods:titleInfo/mods:title", namespaces));
+ *   for (XmlDocument record : records) {
+ *       String title = titleQuery.queryFirstElement(record).getText();
+ *   }
+ * </pre>
+ */
+public final class XmlPathQuery {
+
+    private final XmlName[] elementNames;
+
+    private final XmlName attributeName;
+
+    private XmlPathQuery(XmlName[] elementNames, XmlName attributeName) {
+        this.elementNames = elementNames;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Compiles the given path.
+     *
+     * @param path the path to compile; only the last node may be an attribute
+     * @return the compiled query
+     * @throws XmlException if the path is empty, starts with an attribute or an attribute is not the last node
+     */
+    public static XmlPathQuery compile(XmlPath path) throws XmlException {
+        Objects.requireNonNull(path);
+        int elementCount = path.size();
+        XmlName attributeName = null;
+        if (!path.isEmpty() && path.last().isAttribute()) {
+            attributeName = path.last().name();
+            elementCount--;
+        }
+        if (elementCount == 0) {
+            throw new XmlException("Invalid path query " + path + ". The path has to start with an element.");
+        }
+        XmlName[] elementNames = new XmlName[elementCount];
+        for (int i = 0; i < elementCount; i++) {
+            XmlPath.Node node = path.at(i);
+            if (!node.isElement()) {
+                throw new XmlException("Invalid path query " + path + ". Only the last node can be an attribute.");
+            }
+            elementNames[i] = node.name();
+        }
+        return new XmlPathQuery(elementNames, attributeName);
+    }
+
+    /**
+     * Checks if the path of this query ends with an attribute.
+     *
+     * @return true for attribute queries
+     */
+    public boolean isAttributeQuery() {
+        return attributeName != null;
+    }
+
+    /**
+     * Returns all elements of the document which match this query, in document order.
+     *
+     * @param document the document to query
+     * @return a list of matching elements or an empty list
+     * @throws XmlException if this is an attribute query
+     */
+    public List<XmlElement> queryElements(XmlDocument document) throws XmlException {
+        checkElementQuery();
+        return elements(document);
+    }
+
+    /**
+     * Returns the first element of the document which matches this query. The search stops at the first match.
+     *
+     * @param document the document to query
+     * @return the first matching element or null
+     * @throws XmlException if this is an attribute query
+     */
+    public XmlElement queryFirstElement(XmlDocument document) throws XmlException {
+        checkElementQuery();
+        XmlElement root = document.getRoot();
+        if (root == null || !root.getName().equals(elementNames[0])) {
+            return null;
+        }
+        return firstElement(root, 1);
+    }
+
+    /**
+     * Returns the values of all attributes of the document which match this query.
+     *
+     * @param document the document to query
+     * @return a list of attribute values or an empty list
+     * @throws XmlException if this is not an attribute query
+     */
+    public List<String> queryAttributes(XmlDocument document) throws XmlException {
+        checkAttributeQuery();
+        List<String> attributes = new ArrayList<>();
+        for (XmlElement element : elements(document)) {
+            String attribute = element.getAttribute(attributeName);
+            if (attribute != null) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns the value of the first attribute of the document which matches this query.
+     *
+     * @param document the document to query
+     * @return the attribute value or null
+     * @throws XmlException if this is not an attribute query
+     */
+    public String queryFirstAttribute(XmlDocument document) throws XmlException {
+        checkAttributeQuery();
+        for (XmlElement element : elements(document)) {
+            String attribute = element.getAttribute(attributeName);
+            if (attribute != null) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private List<XmlElement> elements(XmlDocument document) {
+        XmlElement root = document.getRoot();
+        if (root == null || !root.getName().equals(elementNames[0])) {
+            return Collections.emptyList();
+        }
+        List<XmlElement> elements = new ArrayList<>();
+        elements.add(root);
+        for (int i = 1; i < elementNames.length && !elements.isEmpty(); i++) {
+            List<XmlElement> children = new ArrayList<>();
+            for (XmlElement element : elements) {
+                element.collectElements(elementNames[i], children);
+            }
+            elements = children;
+        }
+        return elements;
+    }
+
+    private XmlElement firstElement(XmlElement element, int step) {
+        if (step == elementNames.length) {
+            return element;
+        }
+        if (step == elementNames.length - 1) {
+            return element.getElement(elementNames[step]);
+        }
+        for (XmlElement child : element.getElements(elementNames[step])) {
+            XmlElement match = firstElement(child, step + 1);
+            if (match != null) {
+                return match;
+            }
+        }
+        return null;
+    }
+
+    private void checkElementQuery() throws XmlException {
+        if (attributeName != null) {
+            throw new XmlException("Invalid path query.");
+        }
+    }
+
+    private void checkAttributeQuery() throws XmlException {
+        if (attributeName == null) {
+            throw new XmlException("Not an attribute query.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (XmlName elementName : elementNames) {
+            sb.append('/').append(elementName);
+        }
+        if (attributeName != null) {
+            sb.append("/@").append(attributeName);
+        }
+        return sb.toString();
+    }
+
+}
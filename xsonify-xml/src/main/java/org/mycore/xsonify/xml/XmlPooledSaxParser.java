@@ -0,0 +1,172 @@
+package org.mycore.xsonify.xml;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p>Thread safe {@link XmlParser} which parses with the same SAX handlers as {@link XmlSaxParser}.</p>
+ *
+ * <p>A {@link SAXParser} is not thread safe and expensive to create. This parser keeps a bounded pool of namespace
+ * aware SAX parsers. A parse borrows an idle parser or creates a new one if none is available, and returns it
+ * reset to the pool afterward. Parsers are not bound to threads, so this works equally well with virtual threads.
+ * If the pool is full, returned parsers are discarded.</p>
+ *
+ * <p>The pool exists for thread safety, not for speed. A single-threaded parse is not faster than with a dedicated
+ * {@link XmlSaxParser}, the borrowing and resetting adds a small overhead. Use this class if a parser is shared
+ * between threads, instead of creating a new {@link XmlSaxParser} per parse or guarding one with a lock.</p>
+ *
+ * <p>One instance can be shared application-wide, see {@link #getInstance()}. The settings are fixed on
+ * construction, so the shared instance can't be changed by one of its users. Create an own instance for different
+ * settings.</p>
+ */
+public class XmlPooledSaxParser implements XmlParser {
+
+    /**
+     * Default maximum number of idle parsers.
+     */
+    public static final int DEFAULT_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final XmlPooledSaxParser INSTANCE = new XmlPooledSaxParser();
+
+    private final SAXParserFactory factory;
+
+    private final BlockingQueue<SAXParser> pool;
+
+    private final boolean normalizeText;
+
+    /**
+     * Creates a new parser pool with {@link #DEFAULT_POOL_SIZE}.
+     */
+    public XmlPooledSaxParser() {
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates a new parser pool.
+     *
+     * @param poolSize maximum number of idle parsers kept for reuse
+     */
+    public XmlPooledSaxParser(int poolSize) {
+        this(poolSize, false);
+    }
+
+    /**
+     * Creates a new parser pool.
+     *
+     * @param poolSize      maximum number of idle parsers kept for reuse
+     * @param normalizeText true to normalize text while parsing, see {@link XmlSaxBuilder#setNormalizeText(boolean)}.
+     *                      This saves the normalization later on, but the original whitespace of the text is lost.
+     */
+    public XmlPooledSaxParser(int poolSize, boolean normalizeText) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size has to be at least 1, but is " + poolSize);
+        }
+        this.factory = SAXParserFactory.newInstance();
+        this.factory.setNamespaceAware(true);
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        this.normalizeText = normalizeText;
+    }
+
+    /**
+     * Returns the shared application-wide instance.
+     *
+     * @return the shared parser
+     */
+    public static XmlPooledSaxParser getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Parses an XML document from an InputStream into an XmlDocument.
+     *
+     * @param inputStream The InputStream containing the XML document to parse.
+     * @return The parsed XmlDocument.
+     * @throws XmlParseException If an error occurs during the parsing of the XML document.
+     * @throws IOException       If an error occurs when reading the InputStream.
+     */
+    @Override
+    public XmlDocument parse(InputStream inputStream) throws XmlParseException, IOException {
+        XmlSaxBuilder saxBuilder = new XmlSaxBuilder().setNormalizeText(normalizeText);
+        parse(inputStream, saxBuilder);
+        return saxBuilder.getDocument();
+    }
+
+    /**
+     * Parses the input stream with the given SAX handler.
+     *
+     * @param inputStream the input stream to parse
+     * @param handler     the SAX handler
+     * @throws XmlParseException If an error occurs during the parsing of the XML document.
+     * @throws IOException       If an error occurs when reading the InputStream.
+     */
+    public void parse(InputStream inputStream, DefaultHandler handler) throws XmlParseException, IOException {
+        Objects.requireNonNull(inputStream);
+        parse(new InputSource(inputStream), handler);
+    }
+
+    /**
+     * Parses the input source with the given SAX handler. Use a character stream source to parse text which is
+     * already decoded.
+     *
+     * @param inputSource the input source to parse
+     * @param handler     the SAX handler
+     * @throws XmlParseException If an error occurs during the parsing of the XML document.
+     * @throws IOException       If an error occurs when reading the source.
+     */
+    public void parse(InputSource inputSource, DefaultHandler handler) throws XmlParseException, IOException {
+        Objects.requireNonNull(inputSource);
+        SAXParser saxParser = acquire();
+        try {
+            saxParser.parse(inputSource, handler);
+        } catch (SAXException e) {
+            throw new XmlParseException("Error parsing XML", e);
+        } finally {
+            release(saxParser);
+        }
+    }
+
+    /**
+     * Returns the number of idle parsers in the pool.
+     *
+     * @return number of idle parsers
+     */
+    public int idleCount() {
+        return pool.size();
+    }
+
+    private SAXParser acquire() throws XmlParseException {
+        SAXParser saxParser = pool.poll();
+        if (saxParser != null) {
+            return saxParser;
+        }
+        try {
+            // SAXParserFactory is not guaranteed to be thread safe
+            synchronized (factory) {
+                return factory.newSAXParser();
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new XmlParseException("Unable to create SAX parser", e);
+        }
+    }
+
+    private void release(SAXParser saxParser) {
+        try {
+            saxParser.reset();
+        } catch (UnsupportedOperationException e) {
+            // parser can't be reset -> don't reuse it
+            return;
+        }
+        pool.offer(saxParser);
+    }
+
+}
@@ -29,13 +29,54 @@ public class XmlSaxBuilder extends DefaultHandler {
 
     protected final Map<String, XmlNamespace> inheritedNamespaces;
 
+    protected final XmlSymbolTable symbolTable;
+
+    /**
+     * Character data of the current element since the last element boundary.
+     */
+    protected final StringBuilder textBuffer;
+
+    protected boolean normalizeText;
+
     /**
-     * Constructs a new {@code XmlSaxBuilder}.
+     * Constructs a new {@code XmlSaxBuilder} with its own {@link XmlSymbolTable}.
      */
     public XmlSaxBuilder() {
+        this(new XmlSymbolTable());
+    }
+
+    /**
+     * Constructs a new {@code XmlSaxBuilder} which interns names and namespaces in the given symbol table.
+     *
+     * @param symbolTable the symbol table to use
+     */
+    public XmlSaxBuilder(XmlSymbolTable symbolTable) {
         this.elementStack = new Stack<>();
         this.prefixToNamespaceMap = new HashMap<>();
         this.inheritedNamespaces = new HashMap<>();
+        this.symbolTable = symbolTable;
+        this.textBuffer = new StringBuilder();
+    }
+
+    /**
+     * Sets if text should be normalized while parsing, see {@link XmlText#normalize(String)}. Text which is empty
+     * after normalization is dropped. Default is false.
+     *
+     * @param normalizeText true to normalize text while parsing
+     * @return this builder
+     */
+    public XmlSaxBuilder setNormalizeText(boolean normalizeText) {
+        this.normalizeText = normalizeText;
+        return this;
+    }
+
+    /**
+     * Returns the symbol table used to intern names and namespaces.
+     *
+     * @return the symbol table
+     */
+    public XmlSymbolTable getSymbolTable() {
+        return symbolTable;
     }
 
     /**
@@ -56,6 +97,7 @@ public class XmlSaxBuilder extends DefaultHandler {
     @Override
     public void startDocument() throws SAXException {
         xmlDocument = new XmlDocument();
+        textBuffer.setLength(0);
     }
 
     /**
@@ -63,6 +105,8 @@ public class XmlSaxBuilder extends DefaultHandler {
      * <p>
      * This method creates a new {@link XmlElement} with the appropriate namespace,
      * adds any namespace declarations and attributes, and attaches the element to its parent or the document root.
+     * Element and attribute names are resolved from the namespace uri reported by the parser and interned in the
+     * {@link #getSymbolTable() symbol table}.
      *
      * @param uri the Namespace URI, or the empty string if the element has no Namespace URI or if Namespace processing is not being performed
      * @param localName the local name (without prefix), or the empty string if Namespace processing is not being performed
@@ -72,17 +116,18 @@ public class XmlSaxBuilder extends DefaultHandler {
      */
     @Override
     public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
-        String prefix = qName.contains(":") ? qName.split(":")[0] : "";
-        XmlNamespace elementNamespace = getElementNamespace(prefix);
+        flushText();
+        XmlName elementName = symbolTable.name(uri, localName, qName);
+        XmlNamespace elementNamespace = elementName.namespace();
 
         // Create Element
         XmlElement xmlElement;
         if (elementStack.isEmpty()) {
-            xmlElement = new XmlElement(localName, elementNamespace, xmlDocument);
+            xmlElement = new XmlElement(elementName, xmlDocument);
             xmlDocument.setRoot(xmlElement);
         } else {
             XmlElement parentElement = elementStack.peek();
-            xmlElement = new XmlElement(localName, elementNamespace, parentElement.getDocument());
+            xmlElement = new XmlElement(elementName, parentElement.getDocument());
             parentElement.add(xmlElement);
         }
 
@@ -99,35 +144,15 @@ public class XmlSaxBuilder extends DefaultHandler {
 
         // Handle attributes
         for (int i = 0; i < attributes.getLength(); i++) {
-            String attrQName = attributes.getQName(i);
-            String attrValue = attributes.getValue(i);
-            String attrLocalName = attributes.getLocalName(i);
-            String attrPrefix = attrQName.contains(":") ? attrQName.split(":")[0] : "";
-            XmlAttribute xmlAttribute = new XmlAttribute(attrLocalName, attrValue, getAttributeNamespace(attrPrefix));
-            xmlElement.setAttribute(xmlAttribute);
+            XmlName attrName = symbolTable.name(attributes.getURI(i), attributes.getLocalName(i),
+                attributes.getQName(i));
+            xmlElement.setAttribute(new XmlAttribute(attrName, attributes.getValue(i)));
         }
 
         // Push the new element onto the stack
         elementStack.push(xmlElement);
     }
 
-    private XmlNamespace getElementNamespace(String prefix) {
-        if (XmlNamespace.XML.prefix().equals(prefix)) {
-            return XmlNamespace.XML;
-        }
-        return prefixToNamespaceMap.getOrDefault(prefix, XmlNamespace.EMPTY);
-    }
-
-    private XmlNamespace getAttributeNamespace(String prefix) {
-        if (XmlNamespace.XML.prefix().equals(prefix)) {
-            return XmlNamespace.XML;
-        }
-        if (XmlNamespace.EMPTY.prefix().equals(prefix)) {
-            return XmlNamespace.EMPTY;
-        }
-        return prefixToNamespaceMap.getOrDefault(prefix, XmlNamespace.EMPTY);
-    }
-
     /**
      * Invoked at the end of an XML element.
      * <p>
@@ -140,12 +165,13 @@ public class XmlSaxBuilder extends DefaultHandler {
      */
     @Override
     public void endElement(String uri, String localName, String qName) throws SAXException {
+        flushText();
         elementStack.pop();
     }
 
     @Override
     public void startPrefixMapping(String prefix, String uri) throws SAXException {
-        prefixToNamespaceMap.put(prefix, new XmlNamespace(prefix, uri));
+        prefixToNamespaceMap.put(prefix, symbolTable.namespace(prefix, uri));
     }
 
     @Override
@@ -154,27 +180,59 @@ public class XmlSaxBuilder extends DefaultHandler {
         inheritedNamespaces.remove(prefix);
     }
 
+    /**
+     * Buffers the character data until the next element boundary. Whitespace only chunks are ignored, except a
+     * single space.
+     *
+     * @param ch the characters from the XML document
+     * @param start the start position in the array
+     * @param length the number of characters to read from the array
+     */
     @Override
     public void characters(char[] ch, int start, int length) {
-        String text = new String(ch, start, length);
-        if (!(!text.trim().isEmpty() || text.equals(" ")) || elementStack.isEmpty()) {
+        if (elementStack.isEmpty() || isIgnorableWhitespace(ch, start, length)) {
             return;
         }
-        XmlElement parentElement = elementStack.peek();
-        XmlContent lastContent = getLast(parentElement);
-        if (!(lastContent instanceof XmlText lastText)) {
-            XmlText xmlText = new XmlText(text);
-            parentElement.addText(xmlText);
-        } else {
-            lastText.append(text);
+        textBuffer.append(ch, start, length);
+    }
+
+    /**
+     * Adds the buffered character data as text to the current element.
+     */
+    protected void flushText() {
+        if (textBuffer.isEmpty()) {
+            return;
+        }
+        String text = textBuffer.toString();
+        textBuffer.setLength(0);
+        if (normalizeText) {
+            text = XmlText.normalize(text);
+            if (text.isEmpty()) {
+                return;
+            }
         }
+        elementStack.peek().addText(new XmlText(text));
     }
 
-    private XmlContent getLast(XmlElement element) {
-        if (element.getContent().isEmpty()) {
-            return null;
+    /**
+     * Checks if the given characters only consist of whitespace, in the sense of {@link String#trim()}, and are not
+     * a single space.
+     *
+     * @param ch the characters
+     * @param start the start position in the array
+     * @param length the number of characters
+     * @return true if the characters can be ignored
+     */
+    static boolean isIgnorableWhitespace(char[] ch, int start, int length) {
+        if (length == 1 && ch[start] == ' ') {
+            return false;
+        }
+        for (int i = start, end = start + length; i < end; i++) {
+            if (ch[i] > ' ') {
+                return false;
+            }
         }
-        return element.getContent().get(element.getContent().size() - 1);
+        return true;
     }
 
 }
@@ -16,17 +16,35 @@ import java.util.Objects;
  * <p>XmlSaxParser leverages the SAX parser provided by the JDK and sets it to be namespace aware.</p>
  *
  * <p>In case of any parsing errors, an XmlParseException is thrown, wrapping the original exception.</p>
+ *
+ * <p>An instance wraps a single SAX parser and is therefore not thread safe. Use {@link XmlPooledSaxParser} to share
+ * one parser between threads.</p>
  */
 public class XmlSaxParser implements XmlParser {
 
     private final SAXParser saxParser;
 
+    private boolean normalizeText;
+
     public XmlSaxParser() throws ParserConfigurationException, SAXException {
         SAXParserFactory factory = SAXParserFactory.newInstance();
         factory.setNamespaceAware(true);
         this.saxParser = factory.newSAXParser();
     }
 
+    /**
+     * Sets if text should be normalized while parsing. This saves the normalization later on, but the original
+     * whitespace of the text is lost. Default is false.
+     *
+     * @param normalizeText true to normalize text while parsing
+     * @return this parser
+     * @see XmlSaxBuilder#setNormalizeText(boolean)
+     */
+    public XmlSaxParser setNormalizeText(boolean normalizeText) {
+        this.normalizeText = normalizeText;
+        return this;
+    }
+
     /**
      * Parses an XML document from an InputStream into an XmlDocument.
      *
@@ -38,7 +56,7 @@ public class XmlSaxParser implements XmlParser {
     @Override
     public XmlDocument parse(InputStream inputStream) throws XmlParseException, IOException {
         Objects.requireNonNull(inputStream);
-        XmlSaxBuilder saxBuilder = new XmlSaxBuilder();
+        XmlSaxBuilder saxBuilder = new XmlSaxBuilder().setNormalizeText(normalizeText);
         try {
             saxParser.parse(inputStream, saxBuilder);
         } catch (SAXException e) {
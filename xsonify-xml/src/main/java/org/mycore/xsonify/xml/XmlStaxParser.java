@@ -0,0 +1,143 @@
+package org.mycore.xsonify.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>XmlStaxParser is an implementation of the XmlParser interface that pulls the events of an
+ * {@link XMLStreamReader} and builds an {@link XmlDocument} directly, without a SAX callback handler.</p>
+ *
+ * <p>Open elements are kept in a plain array. Namespace declarations are read from the reader for each element,
+ * names and namespaces are interned in an {@link XmlSymbolTable}. Text is handled like in {@link XmlSaxBuilder}:
+ * character data is buffered until the next element boundary and whitespace only chunks are ignored, except a
+ * single space.</p>
+ *
+ * <p>The same features as in {@link XmlSaxBuilder} are unsupported. An instance is not thread safe.</p>
+ */
+public class XmlStaxParser implements XmlParser {
+
+    private final XMLInputFactory factory;
+
+    public XmlStaxParser() {
+        this.factory = XMLInputFactory.newFactory();
+        this.factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        this.factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * Parses an XML document from an InputStream into an XmlDocument.
+     *
+     * @param inputStream The InputStream containing the XML document to parse.
+     * @return The parsed XmlDocument.
+     * @throws XmlParseException If an error occurs during the parsing of the XML document.
+     * @throws IOException       If an error occurs when reading the InputStream.
+     */
+    @Override
+    public XmlDocument parse(InputStream inputStream) throws XmlParseException, IOException {
+        Objects.requireNonNull(inputStream);
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(inputStream);
+            return build(reader);
+        } catch (XMLStreamException e) {
+            throw new XmlParseException("Error parsing XML", e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    private XmlDocument build(XMLStreamReader reader) throws XMLStreamException {
+        XmlDocument document = new XmlDocument();
+        XmlSymbolTable symbolTable = new XmlSymbolTable();
+        StringBuilder textBuffer = new StringBuilder();
+        XmlElement[] stack = new XmlElement[32];
+        int depth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    if (depth > 0) {
+                        flushText(stack[depth - 1], textBuffer);
+                    }
+                    XmlElement element = createElement(reader, symbolTable, document);
+                    if (depth == 0) {
+                        document.setRoot(element);
+                    } else {
+                        stack[depth - 1].addElement(element);
+                    }
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = element;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    flushText(stack[--depth], textBuffer);
+                    stack[depth] = null;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    char[] ch = reader.getTextCharacters();
+                    int start = reader.getTextStart();
+                    int length = reader.getTextLength();
+                    if (depth > 0 && !XmlSaxBuilder.isIgnorableWhitespace(ch, start, length)) {
+                        textBuffer.append(ch, start, length);
+                    }
+                }
+                default -> {
+                    // comments, processing instructions and dtd's are not supported
+                }
+            }
+        }
+        return document;
+    }
+
+    private XmlElement createElement(XMLStreamReader reader, XmlSymbolTable symbolTable, XmlDocument document) {
+        XmlNamespace elementNamespace = namespace(symbolTable, reader.getPrefix(), reader.getNamespaceURI());
+        XmlElement element = new XmlElement(symbolTable.name(reader.getLocalName(), elementNamespace), document);
+
+        // namespaces declared on this element
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            XmlNamespace namespace = namespace(symbolTable, reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+            if (!elementNamespace.equals(namespace)) {
+                element.setAdditionalNamespace(namespace);
+            }
+        }
+
+        // attributes
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            XmlNamespace attributeNamespace = namespace(symbolTable, reader.getAttributePrefix(i),
+                reader.getAttributeNamespace(i));
+            XmlName attributeName = symbolTable.name(reader.getAttributeLocalName(i), attributeNamespace);
+            element.setAttribute(new XmlAttribute(attributeName, reader.getAttributeValue(i)));
+        }
+        return element;
+    }
+
+    private static XmlNamespace namespace(XmlSymbolTable symbolTable, String prefix, String uri) {
+        return symbolTable.namespace(prefix != null ? prefix : "", uri != null ? uri : "");
+    }
+
+    private static void flushText(XmlElement element, StringBuilder textBuffer) {
+        if (textBuffer.isEmpty()) {
+            return;
+        }
+        element.addText(new XmlText(textBuffer.toString()));
+        textBuffer.setLength(0);
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // the input stream is closed by the caller
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.mycore.xsonify.xml;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Interns {@link XmlNamespace} and {@link XmlName} instances.</p>
+ *
+ * <p>A document usually consists of a small set of distinct names which are repeated many times. Parsers use a
+ * symbol table to share one instance per distinct name and namespace instead of creating new ones for every element
+ * and attribute. Shared names also share their cached qualified and expanded forms.</p>
+ *
+ * <p>A symbol table is not thread safe. It is intended to be used by one parser at a time, but may be reused across
+ * documents, e.g. documents of the same schema.</p>
+ */
+public final class XmlSymbolTable {
+
+    private final Map<String, Map<String, XmlNamespace>> namespaces;
+
+    private final Map<XmlNamespace, Map<String, XmlName>> names;
+
+    private final Map<String, Map<String, XmlName>> qualifiedNames;
+
+    /**
+     * Creates a new symbol table which already contains the predefined namespaces.
+     */
+    public XmlSymbolTable() {
+        this.namespaces = new HashMap<>();
+        this.names = new HashMap<>();
+        this.qualifiedNames = new HashMap<>();
+        intern(XmlNamespace.EMPTY);
+        intern(XmlNamespace.XML);
+        intern(XmlNamespace.XMLNS);
+    }
+
+    /**
+     * Returns the shared namespace instance for the given prefix and uri.
+     *
+     * @param prefix the namespace prefix
+     * @param uri    the namespace uri
+     * @return the interned namespace
+     */
+    public XmlNamespace namespace(String prefix, String uri) {
+        Map<String, XmlNamespace> byUri = namespaces.computeIfAbsent(prefix, k -> new HashMap<>(4));
+        XmlNamespace namespace = byUri.get(uri);
+        if (namespace == null) {
+            namespace = new XmlNamespace(prefix, uri);
+            byUri.put(uri, namespace);
+        }
+        return namespace;
+    }
+
+    /**
+     * Returns the shared namespace instance which is equal to the given namespace.
+     *
+     * @param namespace the namespace to intern
+     * @return the interned namespace
+     */
+    public XmlNamespace intern(XmlNamespace namespace) {
+        return namespaces.computeIfAbsent(namespace.prefix(), k -> new HashMap<>(4))
+            .computeIfAbsent(namespace.uri(), k -> namespace);
+    }
+
+    /**
+     * Returns the shared name instance for the given local name and namespace.
+     *
+     * @param localName the local name
+     * @param namespace the namespace
+     * @return the interned name
+     */
+    public XmlName name(String localName, XmlNamespace namespace) {
+        Map<String, XmlName> byLocalName = names.computeIfAbsent(namespace, k -> new HashMap<>());
+        XmlName name = byLocalName.get(localName);
+        if (name == null) {
+            name = new XmlName(localName, intern(namespace));
+            byLocalName.put(localName, name);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the shared name instance for the name reported by a namespace aware SAX parser. The prefix is taken
+     * from the qualified name, the qualified name is only split the first time it occurs for an uri.
+     *
+     * @param uri       the namespace uri, or the empty string if the name has no namespace
+     * @param localName the local name
+     * @param qName     the qualified name (with prefix)
+     * @return the interned name
+     */
+    public XmlName name(String uri, String localName, String qName) {
+        Map<String, XmlName> byQName = qualifiedNames.computeIfAbsent(uri, k -> new HashMap<>());
+        XmlName name = byQName.get(qName);
+        if (name == null) {
+            int colon = qName.indexOf(':');
+            String prefix = colon == -1 ? "" : qName.substring(0, colon);
+            name = name(localName, namespace(prefix, uri));
+            byQName.put(qName, name);
+        }
+        return name;
+    }
+
+}
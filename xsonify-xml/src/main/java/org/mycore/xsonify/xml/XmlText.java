@@ -12,6 +12,11 @@ public class XmlText extends XmlContent {
      */
     private String value;
 
+    /**
+     * Cached result of {@link #normalize()}, reset when the value changes.
+     */
+    private String normalized;
+
     /**
      * Create a new XmlText node with the given text value.
      *
@@ -32,20 +37,40 @@ public class XmlText extends XmlContent {
 
     /**
      * Normalize the text value of this node by replacing sequences of whitespace characters with a single space.
+     * The result is cached until the value changes.
      *
      * @return the normalized text value of this node
      */
     public String normalize() {
-        StringBuilder output = new StringBuilder();
+        String normalized = this.normalized;
+        if (normalized == null) {
+            normalized = normalize(value);
+            this.normalized = normalized;
+        }
+        return normalized;
+    }
+
+    /**
+     * Normalizes the given text by replacing sequences of whitespace characters with a single space and trimming it.
+     * If the text is already normalized, the same instance is returned.
+     *
+     * @param value the text to normalize
+     * @return the normalized text
+     */
+    public static String normalize(String value) {
+        if (isNormalized(value)) {
+            return value;
+        }
+        StringBuilder output = new StringBuilder(value.length());
         int length = value.length();
         boolean inWhitespace = false;
         for (int i = 0; i < length; i++) {
             char c = value.charAt(i);
-            if (Character.isWhitespace(c)) {
+            if (isWhitespace(c)) {
                 inWhitespace = true;
             } else {
                 if (inWhitespace && !output.isEmpty()) {
-                    output.append(" ");
+                    output.append(' ');
                 }
                 inWhitespace = false;
                 output.append(c);
@@ -54,6 +79,45 @@ public class XmlText extends XmlContent {
         return output.toString().trim();
     }
 
+    /**
+     * Checks if normalization would not change the text: no leading or trailing whitespace or control characters
+     * and only single spaces between words.
+     */
+    private static boolean isNormalized(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return true;
+        }
+        char first = value.charAt(0);
+        char last = value.charAt(length - 1);
+        if (first <= ' ' || last <= ' ' || isWhitespace(first) || isWhitespace(last)) {
+            return false;
+        }
+        boolean previousSpace = false;
+        for (int i = 1; i < length - 1; i++) {
+            char c = value.charAt(i);
+            if (c == ' ') {
+                if (previousSpace) {
+                    return false;
+                }
+                previousSpace = true;
+            } else if (isWhitespace(c)) {
+                return false;
+            } else {
+                previousSpace = false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // ASCII fast path, same result as Character.isWhitespace
+        if (c < 0x80) {
+            return c == ' ' || (c >= '\t' && c <= '\r') || (c >= '\u001C' && c <= '\u001F');
+        }
+        return Character.isWhitespace(c);
+    }
+
     /**
      * Set the text value of this node.
      *
@@ -61,6 +125,8 @@ public class XmlText extends XmlContent {
      */
     public void set(String value) {
         this.value = value;
+        this.normalized = null;
+        invalidateParentDigest();
     }
 
     /**
@@ -70,6 +136,15 @@ public class XmlText extends XmlContent {
      */
     public void append(String text) {
         this.value += text;
+        this.normalized = null;
+        invalidateParentDigest();
+    }
+
+    private void invalidateParentDigest() {
+        XmlElement parent = getParent();
+        if (parent != null) {
+            parent.invalidateDigest();
+        }
     }
 
     /**
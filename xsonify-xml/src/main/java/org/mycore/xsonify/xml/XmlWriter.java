@@ -0,0 +1,368 @@
+package org.mycore.xsonify.xml;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Streams {@link XmlDocument}s and {@link XmlElement}s to a {@link Writer} or an {@link OutputStream}.</p>
+ *
+ * <p>The output has the same layout as {@link XmlDocument#toXml(boolean)}: in compact mode text is normalized and
+ * separated like in {@link XmlElement#toXml()}, in pretty mode elements are indented by two spaces and text is
+ * written as it is. Unlike the string methods, the writer escapes text and attribute values, so the output is always
+ * well-formed.</p>
+ *
+ * <p>Characters are collected in a fixed buffer and written to the target when it is full. Namespace declarations
+ * are tracked on a binding stack while descending, so an element only declares namespaces which are not bound yet.
+ * Apart from the recursion, writing needs constant extra memory, independent of the document size.</p>
+ *
+ * <p>A writer is not thread safe. It does not write an XML declaration.</p>
+ */
+public class XmlWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String INDENT = "  ";
+
+    private final Writer writer;
+
+    private final char[] buffer;
+
+    private int position;
+
+    private boolean pretty;
+
+    private char[] indent;
+
+    private String[] boundPrefixes;
+
+    private XmlNamespace[] boundNamespaces;
+
+    private int boundCount;
+
+    private XmlNamespace[] localNamespaces;
+
+    /**
+     * Creates a new writer which writes to the given writer.
+     *
+     * @param writer the target
+     */
+    public XmlWriter(Writer writer) {
+        this.writer = Objects.requireNonNull(writer);
+        this.buffer = new char[BUFFER_SIZE];
+        this.indent = new char[32];
+        Arrays.fill(this.indent, ' ');
+        this.boundPrefixes = new String[16];
+        this.boundNamespaces = new XmlNamespace[16];
+        this.localNamespaces = new XmlNamespace[8];
+    }
+
+    /**
+     * Creates a new writer which writes UTF-8 encoded to the given output stream.
+     *
+     * @param outputStream the target
+     */
+    public XmlWriter(OutputStream outputStream) {
+        this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sets if the output should be pretty-formatted. Default is false.
+     *
+     * @param pretty true for pretty-formatted output
+     * @return this writer
+     */
+    public XmlWriter setPretty(boolean pretty) {
+        this.pretty = pretty;
+        return this;
+    }
+
+    /**
+     * Writes the root element of the document.
+     *
+     * @param document the document to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(XmlDocument document) throws IOException {
+        write(document.getRoot());
+    }
+
+    /**
+     * Writes the element and its content. The element declares all namespaces it and its descendants need.
+     *
+     * @param element the element to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(XmlElement element) throws IOException {
+        resetBindings();
+        writeElement(element, 0);
+    }
+
+    /**
+     * Writes only the content of the element, without the element itself. Namespaces in scope of the element are
+     * not declared again.
+     *
+     * @param element the element whose content should be written
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeContent(XmlElement element) throws IOException {
+        resetBindings();
+        for (Map.Entry<String, XmlNamespace> entry : element.getNamespacesInScope().entrySet()) {
+            bind(entry.getKey(), entry.getValue());
+        }
+        writeChildren(element, 0);
+    }
+
+    /**
+     * Writes the buffered characters to the target and flushes it.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    /**
+     * Flushes and closes the target.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        writer.close();
+    }
+
+    private void writeElement(XmlElement element, int depth) throws IOException {
+        int mark = boundCount;
+        if (pretty) {
+            writeIndent(depth);
+        }
+        write('<');
+        writeName(element.getName());
+        writeNamespaceDeclarations(element);
+        for (int i = 0; i < element.attributeCount(); i++) {
+            XmlAttribute attribute = element.attributeAt(i);
+            write(' ');
+            writeName(attribute.getName());
+            write("=\"");
+            writeEscaped(attribute.getValue(), true);
+            write('"');
+        }
+        if (!element.hasContent()) {
+            write("/>");
+            if (pretty) {
+                write('\n');
+            }
+            boundCount = mark;
+            return;
+        }
+        write('>');
+        boolean newLines = pretty && element.hasElements();
+        if (newLines) {
+            write('\n');
+        }
+        writeChildren(element, depth + 1);
+        if (newLines) {
+            writeIndent(depth);
+        }
+        write("</");
+        writeName(element.getName());
+        write('>');
+        if (pretty) {
+            write('\n');
+        }
+        boundCount = mark;
+    }
+
+    private void writeChildren(XmlElement element, int depth) throws IOException {
+        for (int i = 0; i < element.contentCount(); i++) {
+            XmlContent content = element.contentAt(i);
+            if (content instanceof XmlElement childElement) {
+                writeElement(childElement, depth);
+            } else if (content instanceof XmlText text) {
+                writeEscaped(pretty ? text.get() : text.normalize(), false);
+            }
+            if (!pretty && element.hasTrailingWhitespace(i)) {
+                write(' ');
+            }
+        }
+    }
+
+    /**
+     * Declares the namespaces of the element which are not bound to their prefix yet. The namespaces are considered
+     * in the same order as in {@link XmlElement#getNamespacesLocal()}.
+     */
+    private void writeNamespaceDeclarations(XmlElement element) throws IOException {
+        int localCount = 0;
+        XmlNamespace elementNamespace = element.getNamespace();
+        if (!XmlNamespace.EMPTY.equals(elementNamespace)) {
+            localCount = addLocalNamespace(elementNamespace, localCount);
+        }
+        for (XmlNamespace additionalNamespace : element.getAdditionalNamespacesView()) {
+            localCount = addLocalNamespace(additionalNamespace, localCount);
+        }
+        for (int i = 0; i < element.attributeCount(); i++) {
+            XmlNamespace attributeNamespace = element.attributeAt(i).getNamespace();
+            if (!XmlNamespace.EMPTY.equals(attributeNamespace)) {
+                localCount = addLocalNamespace(attributeNamespace, localCount);
+            }
+        }
+        for (int i = 0; i < localCount; i++) {
+            XmlNamespace namespace = localNamespaces[i];
+            if (namespace.equals(lookup(namespace.prefix()))) {
+                continue;
+            }
+            bind(namespace.prefix(), namespace);
+            write(" xmlns");
+            if (!namespace.prefix().isEmpty()) {
+                write(':');
+                write(namespace.prefix());
+            }
+            write("=\"");
+            writeEscaped(namespace.uri(), true);
+            write('"');
+        }
+    }
+
+    private int addLocalNamespace(XmlNamespace namespace, int localCount) {
+        // first namespace of a prefix wins
+        for (int i = 0; i < localCount; i++) {
+            if (localNamespaces[i].prefix().equals(namespace.prefix())) {
+                return localCount;
+            }
+        }
+        if (localCount == localNamespaces.length) {
+            localNamespaces = Arrays.copyOf(localNamespaces, localCount * 2);
+        }
+        localNamespaces[localCount] = namespace;
+        return localCount + 1;
+    }
+
+    private void resetBindings() {
+        boundCount = 0;
+        bind(XmlNamespace.XML.prefix(), XmlNamespace.XML);
+        bind(XmlNamespace.EMPTY.prefix(), XmlNamespace.EMPTY);
+    }
+
+    private void bind(String prefix, XmlNamespace namespace) {
+        if (boundCount == boundPrefixes.length) {
+            boundPrefixes = Arrays.copyOf(boundPrefixes, boundCount * 2);
+            boundNamespaces = Arrays.copyOf(boundNamespaces, boundCount * 2);
+        }
+        boundPrefixes[boundCount] = prefix;
+        boundNamespaces[boundCount] = namespace;
+        boundCount++;
+    }
+
+    private XmlNamespace lookup(String prefix) {
+        for (int i = boundCount - 1; i >= 0; i--) {
+            if (boundPrefixes[i].equals(prefix)) {
+                return boundNamespaces[i];
+            }
+        }
+        return null;
+    }
+
+    private void writeName(XmlName name) throws IOException {
+        if (name.namespace().hasPrefix()) {
+            write(name.prefix());
+            write(':');
+        }
+        write(name.local());
+    }
+
+    private void writeIndent(int depth) throws IOException {
+        int length = depth * INDENT.length();
+        if (length > indent.length) {
+            indent = new char[Math.max(length, indent.length * 2)];
+            Arrays.fill(indent, ' ');
+        }
+        write(indent, 0, length);
+    }
+
+    /**
+     * Writes the text with the XML special characters replaced by entity or character references. In attribute
+     * values quotes and whitespace characters are escaped as well, so they survive attribute value normalization.
+     */
+    private void writeEscaped(String text, boolean attribute) throws IOException {
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            String replacement = escape(text.charAt(i), attribute);
+            if (replacement == null) {
+                continue;
+            }
+            write(text, start, i);
+            write(replacement);
+            start = i + 1;
+        }
+        write(text, start, length);
+    }
+
+    private static String escape(char c, boolean attribute) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '\r' -> "&#13;";
+            case '"' -> attribute ? "&quot;" : null;
+            case '\n' -> attribute ? "&#10;" : null;
+            case '\t' -> attribute ? "&#9;" : null;
+            default -> null;
+        };
+    }
+
+    private void write(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void write(String text) throws IOException {
+        write(text, 0, text.length());
+    }
+
+    private void write(String text, int start, int end) throws IOException {
+        int length = end - start;
+        if (length > buffer.length - position) {
+            flushBuffer();
+            if (length > buffer.length) {
+                writer.write(text, start, length);
+                return;
+            }
+        }
+        text.getChars(start, end, buffer, position);
+        position += length;
+    }
+
+    private void write(char[] chars, int offset, int length) throws IOException {
+        if (length > buffer.length - position) {
+            flushBuffer();
+            if (length > buffer.length) {
+                writer.write(chars, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(chars, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.mycore.xsonify.xml;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link XmlDiff}.
+ */
+public class XmlDiffTest {
+
+    @Test
+    public void equal() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<root><a x=\"1\">text</a><b/></root>").getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<root><a x=\"1\">text</a><b/></root>").getRoot();
+        Assertions.assertTrue(new XmlDiff().diff(e1, e2).isEmpty());
+    }
+
+    @Test
+    public void textAndAttributeChanges() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<root><a x=\"1\" y=\"2\"><c>old</c></a><b/></root>").getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<root><a x=\"1\" y=\"3\" z=\"4\"><c>new</c></a><b/></root>").getRoot();
+        List<XmlDiff.Change> changes = new XmlDiff().diff(e1, e2);
+        Assertions.assertEquals(3, changes.size(), changes.toString());
+        assertChange(changes.get(0), XmlDiff.Type.ATTRIBUTE, "/root/a/@y", "2", "3");
+        assertChange(changes.get(1), XmlDiff.Type.ATTRIBUTE, "/root/a/@z", null, "4");
+        assertChange(changes.get(2), XmlDiff.Type.TEXT, "/root/a/c", "old", "new");
+    }
+
+    @Test
+    public void insertDeleteMove() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<root><a>1</a><b>2</b><c>3</c><d>4</d></root>").getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<root><b>2</b><c>3</c><a>1</a><e>5</e></root>").getRoot();
+        List<XmlDiff.Change> changes = new XmlDiff().diff(e1, e2);
+        Assertions.assertEquals(3, changes.size(), changes.toString());
+
+        XmlDiff.Change delete = changes.get(0);
+        Assertions.assertEquals(XmlDiff.Type.DELETE, delete.type());
+        Assertions.assertEquals("/root/d", delete.path().toString());
+        Assertions.assertEquals(3, delete.oldIndex());
+
+        XmlDiff.Change move = changes.get(1);
+        Assertions.assertEquals(XmlDiff.Type.MOVE, move.type());
+        Assertions.assertEquals("/root/a", move.path().toString());
+        Assertions.assertEquals(0, move.oldIndex());
+        Assertions.assertEquals(2, move.newIndex());
+
+        XmlDiff.Change insert = changes.get(2);
+        Assertions.assertEquals(XmlDiff.Type.INSERT, insert.type());
+        Assertions.assertEquals("/root/e", insert.path().toString());
+        Assertions.assertEquals(3, insert.newIndex());
+
+        // no moves if the order is ignored
+        List<XmlDiff.Change> unordered = new XmlDiff(new XmlDigester().setIgnoreOrder(true)).diff(e1, e2);
+        Assertions.assertEquals(2, unordered.size(), unordered.toString());
+    }
+
+    @Test
+    public void changedElementsArePairedByName() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<root><name><part>A</part></name><name><part>B</part></name></root>")
+            .getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<root><name><part>A</part></name><name><part>C</part></name></root>")
+            .getRoot();
+        List<XmlDiff.Change> changes = new XmlDiff().diff(e1, e2);
+        Assertions.assertEquals(1, changes.size(), changes.toString());
+        assertChange(changes.get(0), XmlDiff.Type.TEXT, "/root/name/part", "B", "C");
+    }
+
+    @Test
+    public void attributeChangesReferenceTheElement() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<root><name type=\"a\"/><name type=\"b\"/></root>").getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<root><name type=\"a\"/><name type=\"c\" xmlns:x=\"urn:x\"/></root>")
+            .getRoot();
+        List<XmlDiff.Change> changes = new XmlDiff().diff(e1, e2);
+        Assertions.assertEquals(2, changes.size(), changes.toString());
+        XmlElement secondName = e2.getElements().get(1);
+        XmlDiff.Change namespaceChange = changes.get(0);
+        Assertions.assertEquals(XmlDiff.Type.NAMESPACE, namespaceChange.type());
+        Assertions.assertSame(secondName, namespaceChange.content());
+        XmlDiff.Change attributeChange = changes.get(1);
+        assertChange(attributeChange, XmlDiff.Type.ATTRIBUTE, "/root/name/@type", "b", "c");
+        Assertions.assertSame(secondName, attributeChange.content());
+    }
+
+    @Test
+    public void differentRoot() throws Exception {
+        XmlElement e1 = XmlTestUtil.parse("<a/>").getRoot();
+        XmlElement e2 = XmlTestUtil.parse("<b/>").getRoot();
+        List<XmlDiff.Change> changes = new XmlDiff().diff(e1, e2);
+        Assertions.assertEquals(XmlDiff.Type.DELETE, changes.get(0).type());
+        Assertions.assertEquals(XmlDiff.Type.INSERT, changes.get(1).type());
+    }
+
+    private static void assertChange(XmlDiff.Change change, XmlDiff.Type type, String path, String oldValue,
+        String newValue) {
+        Assertions.assertEquals(type, change.type());
+        Assertions.assertEquals(path, change.path().toString());
+        Assertions.assertEquals(oldValue, change.oldValue());
+        Assertions.assertEquals(newValue, change.newValue());
+    }
+
+}
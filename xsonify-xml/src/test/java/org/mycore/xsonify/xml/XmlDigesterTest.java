@@ -0,0 +1,78 @@
+package org.mycore.xsonify.xml;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link XmlDigester}.
+ */
+public class XmlDigesterTest {
+
+    @Test
+    public void agreesWithEqualityChecker() throws Exception {
+        XmlDocument doc = XmlTestUtil.parse("<root>"
+            + "<a x=\"1\" y=\"2\"><b>text<c/></b>tail</a>"
+            + "<a y=\"2\" x=\"1\"><b> text <c/></b>tail</a>"
+            + "<a x=\"1\" y=\"2\"><b>text<d/></b>tail</a>"
+            + "<a x=\"1\" y=\"2\">tail<b>text<c/></b></a>"
+            + "<a x=\"1\" y=\"2\"><b>te  xt<c/></b>tail</a>"
+            + "</root>");
+        List<XmlElement> elements = doc.getRoot().getElements();
+        for (int options = 0; options < 4; options++) {
+            XmlEqualityChecker checker = new XmlEqualityChecker()
+                .setIgnoreOrder((options & 1) != 0)
+                .setNormalizeText((options & 2) != 0);
+            XmlDigester digester = checker.toDigester();
+            for (XmlElement e1 : elements) {
+                for (XmlElement e2 : elements) {
+                    Assertions.assertEquals(checker.equals(e1, e2), digester.equals(e1, e2));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void independentOfPosition() throws Exception {
+        XmlDocument doc = XmlTestUtil.parse("<root><a><b>text</b></a><b>text</b></root>");
+        XmlElement nested = doc.getRoot().getElements().get(0).getElements().get(0);
+        XmlElement top = doc.getRoot().getElements().get(1);
+        XmlDigester digester = new XmlDigester();
+        Assertions.assertEquals(digester.digest(nested), digester.digest(top));
+        Assertions.assertEquals(16, XmlDigester.toHex(digester.digest(nested)).length());
+    }
+
+    @Test
+    public void invalidatedOnChange() throws Exception {
+        XmlDocument doc = XmlTestUtil.parse("<root><a><b x=\"1\">text</b></a></root>");
+        XmlElement root = doc.getRoot();
+        XmlElement b = root.getElements().get(0).getElements().get(0);
+        XmlDigester digester = new XmlDigester();
+
+        long digest = digester.digest(root);
+        Assertions.assertEquals(digest, digester.digest(root));
+
+        b.getTexts().get(0).set("other");
+        long textChanged = digester.digest(root);
+        Assertions.assertNotEquals(digest, textChanged);
+
+        b.setAttribute("x", "2", XmlNamespace.EMPTY);
+        long attributeChanged = digester.digest(root);
+        Assertions.assertNotEquals(textChanged, attributeChanged);
+
+        b.addElement(new XmlElement("c"));
+        long elementAdded = digester.digest(root);
+        Assertions.assertNotEquals(attributeChanged, elementAdded);
+
+        b.getElements().get(0).detach();
+        Assertions.assertEquals(attributeChanged, digester.digest(root));
+
+        // other options are computed and cached independently
+        XmlDigester normalizing = new XmlDigester().setNormalizeText(true);
+        normalizing.digest(root);
+        b.getTexts().get(0).set("text");
+        Assertions.assertEquals(new XmlDigester().digest(root.copy(null)), digester.digest(root));
+    }
+
+}
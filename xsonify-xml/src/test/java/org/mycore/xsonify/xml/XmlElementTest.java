@@ -2,12 +2,17 @@ package org.mycore.xsonify.xml;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class XmlElementTest {
 
@@ -62,4 +67,121 @@ public class XmlElementTest {
         assertNotNull(illegalArgumentException);
     }
 
+    @Test
+    void testNamespaceScopeInvalidation() {
+        XmlNamespace a = new XmlNamespace("a", "https://test.com/a");
+        XmlNamespace b = new XmlNamespace("b", "https://test.com/b");
+        XmlElement root = new XmlElement("root", a);
+        XmlElement child = new XmlElement("child", a);
+        XmlElement grandChild = new XmlElement("grandChild", a);
+        root.addElement(child);
+        child.addElement(grandChild);
+
+        assertEquals(a, grandChild.getNamespace("a"));
+        assertNull(grandChild.getNamespace("b"));
+        assertTrue(grandChild.getNamespacesIntroduced().isEmpty());
+        assertEquals(List.of(a), List.copyOf(root.getNamespacesIntroduced().values()));
+
+        // change an ancestor
+        root.setAdditionalNamespace(b);
+        assertEquals(b, grandChild.getNamespace("b"));
+        assertEquals(List.of(a, b), List.copyOf(root.getNamespacesIntroduced().values()));
+
+        // move the subtree
+        XmlElement otherRoot = new XmlElement("otherRoot");
+        child.detach();
+        otherRoot.addElement(child);
+        assertNull(grandChild.getNamespace("b"));
+        assertEquals(List.of(a), List.copyOf(child.getNamespacesIntroduced().values()));
+
+        // change the element itself
+        grandChild.setNamespace(b);
+        assertEquals(List.of(b), List.copyOf(grandChild.getNamespacesIntroduced().values()));
+        grandChild.setNamespace(XmlNamespace.EMPTY);
+        assertTrue(grandChild.getNamespacesIntroduced().isEmpty());
+    }
+
+    @Test
+    void testViewsAndIndexAccess() {
+        XmlElement root = new XmlElement("root");
+        XmlElement a = new XmlElement("a");
+        XmlElement b = new XmlElement("b");
+        root.addElement(a);
+        root.addText("text ");
+        root.addElement(b);
+
+        List<XmlElement> elementsView = root.getElementsView();
+        assertEquals(2, root.elementCount());
+        assertEquals(b, root.elementAt(1));
+        assertEquals(3, root.contentCount());
+        assertEquals("text ", ((XmlText) root.contentAt(1)).get());
+        assertThrows(UnsupportedOperationException.class, () -> elementsView.add(new XmlElement("c")));
+
+        // views are live
+        a.addElement(new XmlElement("c"));
+        root.addElement(new XmlElement("d"));
+        assertEquals(3, elementsView.size());
+
+        List<String> visited = new ArrayList<>();
+        root.accept(element -> {
+            visited.add(element.getLocalName());
+            return !element.getLocalName().equals("a");
+        });
+        assertEquals(List.of("root", "a", "b", "d"), visited);
+
+        root.clear();
+        assertEquals(0, root.contentCount());
+        assertTrue(elementsView.isEmpty());
+        assertNull(a.getParent());
+    }
+
+    @Test
+    void testTrailingContent() {
+        XmlElement root = new XmlElement("root");
+        root.addText("a ");
+        root.addElement(new XmlElement("b"));
+        root.addText("c");
+        root.addElement(new XmlElement("d"));
+        root.addText(" e ");
+
+        List<Boolean> trailing = root.trailingContent().stream().map(XmlElement.TrailingInfo::trailing).toList();
+        assertEquals(List.of(true, false, false, false, false), trailing);
+        assertEquals("a <b/>c<d/>e", root.encodeContent(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testAttributes() {
+        XmlNamespace ns = new XmlNamespace("ns", "https://test.com/ns");
+        XmlElement element = new XmlElement("element");
+        assertFalse(element.hasAttributes());
+        assertTrue(element.getAttributes().isEmpty());
+
+        element.setAttribute("a", "1", XmlNamespace.EMPTY);
+        element.setAttribute("a", "2", ns);
+        element.setAttribute("b", "3", XmlNamespace.EMPTY);
+        List<XmlAttribute> attributes = element.getAttributes();
+        assertEquals(3, element.attributeCount());
+        assertEquals("1", element.getAttribute("a"));
+        assertEquals("2", element.getAttribute("ns:a"));
+        assertEquals("2", element.getAttribute(new XmlExpandedName("a", ns.uri())));
+
+        // replace keeps the position
+        element.setAttribute("a", "4", ns);
+        assertEquals(3, attributes.size());
+        assertEquals("4", attributes.get(1).getValue());
+        assertThrows(UnsupportedOperationException.class, () -> attributes.remove(0));
+
+        // more attributes than the linear scan threshold
+        for (int i = 0; i < 20; i++) {
+            element.setAttribute("c" + i, String.valueOf(i), XmlNamespace.EMPTY);
+        }
+        element.setAttribute("c5", "five", XmlNamespace.EMPTY);
+        assertEquals(23, element.attributeCount());
+        assertEquals("five", element.getAttribute("c5"));
+        assertEquals("19", element.getAttribute("c19"));
+        assertEquals("4", element.getAttribute("ns:a"));
+        assertNull(element.getAttribute("c20"));
+        assertEquals("c19", element.attributeAt(22).getLocalName());
+    }
+
 }
@@ -3,7 +3,9 @@ package org.mycore.xsonify.xml;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -162,4 +164,51 @@ public class XmlEqualityCheckerTest {
         // The difference description should contain the expected message.
         Assertions.assertTrue(result.getDifference().contains("XML Elements are not equal!"));
     }
+
+    /**
+     * Tests that the boolean check, which stops at the first mismatch, agrees with the detailed result for nested
+     * elements, and that the difference description contains the path of the differing element.
+     */
+    @Test
+    public void equalsAgreesWithResult() throws Exception {
+        String xml = "<root>"
+            + "<a x=\"1\" y=\"2\"><b>text<c/></b>tail</a>"
+            + "<a y=\"2\" x=\"1\"><b>text<c/></b>tail</a>"
+            + "<a x=\"1\" y=\"2\"><b>text<d/></b>tail</a>"
+            + "<a x=\"1\" y=\"3\"><b>text<c/></b>tail</a>"
+            + "<a x=\"1\" y=\"2\"><b>text</b><c/>tail</a>"
+            + "</root>";
+        XmlSaxParser parser = new XmlSaxParser();
+        XmlDocument doc = parser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        List<XmlElement> elements = new ArrayList<>(doc.getRoot().getElements());
+        // <a><b/> <c/></a> and <a><b/><c/></a>, whitespace only texts don't count if the order is ignored
+        XmlElement withWhitespace = new XmlElement("a");
+        withWhitespace.addElement(new XmlElement("b"));
+        withWhitespace.addText(" ");
+        withWhitespace.addElement(new XmlElement("c"));
+        XmlElement withoutWhitespace = new XmlElement("a");
+        withoutWhitespace.addElement(new XmlElement("b"));
+        withoutWhitespace.addElement(new XmlElement("c"));
+        elements.add(withWhitespace);
+        elements.add(withoutWhitespace);
+
+        for (boolean ignoreOrder : new boolean[] { false, true }) {
+            XmlEqualityChecker checker = new XmlEqualityChecker().setIgnoreOrder(ignoreOrder);
+            for (XmlElement e1 : elements) {
+                for (XmlElement e2 : elements) {
+                    Assertions.assertEquals(checker.equalsWithResult(e1, e2).isEqual(), checker.equals(e1, e2));
+                }
+            }
+        }
+
+        Assertions.assertTrue(new XmlEqualityChecker().setIgnoreOrder(true).equals(withWhitespace, withoutWhitespace));
+
+        XmlEqualityChecker checker = new XmlEqualityChecker();
+        Assertions.assertTrue(checker.equals(elements.get(0), elements.get(1)));
+        Assertions.assertFalse(checker.equals(elements.get(0), elements.get(2)));
+        Assertions.assertFalse(checker.equals(elements.get(0), elements.get(3)));
+        Assertions.assertFalse(checker.equals(elements.get(0), elements.get(4)));
+        Assertions.assertTrue(checker.equalsWithResult(elements.get(0), elements.get(2)).getDifference()
+            .contains("/root/a/b/c"));
+    }
 }
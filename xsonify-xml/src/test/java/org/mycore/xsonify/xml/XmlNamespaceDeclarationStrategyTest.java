@@ -0,0 +1,56 @@
+package org.mycore.xsonify.xml;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link XmlNamespaceDeclarationAncestorStrategy} and {@link XmlNamespaceDeclarationRootStrategy}.
+ */
+public class XmlNamespaceDeclarationStrategyTest {
+
+    private static final String XML = "<root>"
+        + "<a><x:b xmlns:x=\"urn:x\"/><c><x:d xmlns:x=\"urn:x\"/></c></a>"
+        + "<e><y:f xmlns:y=\"urn:y\"/></e>"
+        + "<g><y:h xmlns:y=\"urn:y\"/><y:i xmlns:y=\"urn:y\"/></g>"
+        + "</root>";
+
+    @Test
+    public void ancestor() throws Exception {
+        XmlDocument document = XmlTestUtil.parse(XML);
+        new XmlNamespaceDeclarationAncestorStrategy().apply(document);
+        Assertions.assertEquals("<root xmlns:y=\"urn:y\">"
+            + "<a xmlns:x=\"urn:x\"><x:b/><c><x:d/></c></a>"
+            + "<e><y:f/></e>"
+            + "<g><y:h/><y:i/></g>"
+            + "</root>", document.toXml(false));
+    }
+
+    @Test
+    public void ancestorIsIntroducingElement() throws Exception {
+        // the inner declaration is necessary because the prefix is rebound in between
+        XmlDocument document = XmlTestUtil.parse("<root><x:a xmlns:x=\"urn:x\"><x:b xmlns:x=\"urn:other\">"
+            + "<x:c xmlns:x=\"urn:x\"/></x:b></x:a></root>");
+        new XmlNamespaceDeclarationAncestorStrategy().apply(document);
+        XmlElement a = document.getRoot().getElements().get(0);
+        Assertions.assertEquals("urn:x", document.getRoot().getAdditionalNamespace("x").uri());
+        Assertions.assertEquals("urn:x", a.getElements().get(0).getElements().get(0).getNamespace().uri());
+    }
+
+    @Test
+    public void root() throws Exception {
+        XmlDocument document = XmlTestUtil.parse(XML);
+        new XmlNamespaceDeclarationRootStrategy().apply(document);
+        Assertions.assertEquals("<root xmlns:x=\"urn:x\" xmlns:y=\"urn:y\">"
+            + "<a><x:b/><c><x:d/></c></a>"
+            + "<e><y:f/></e>"
+            + "<g><y:h/><y:i/></g>"
+            + "</root>", document.toXml(false));
+    }
+
+    @Test
+    public void rootConflict() throws Exception {
+        XmlDocument document = XmlTestUtil.parse("<root><x:a xmlns:x=\"urn:x\"/><x:b xmlns:x=\"urn:other\"/></root>");
+        Assertions.assertThrows(XmlException.class, () -> new XmlNamespaceDeclarationRootStrategy().apply(document));
+    }
+
+}
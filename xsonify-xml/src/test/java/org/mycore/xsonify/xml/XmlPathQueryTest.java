@@ -0,0 +1,69 @@
+package org.mycore.xsonify.xml;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link XmlPathQuery} and the child element index of {@link XmlElement}.
+ */
+public class XmlPathQueryTest {
+
+    private static final XmlNamespace NS = new XmlNamespace("n", "urn:n");
+
+    @Test
+    public void reuseAcrossDocuments() throws Exception {
+        XmlPathQuery titles = XmlPathQuery.compile(XmlPath.of("/n:root/n:info/n:title", Map.of("n", NS)));
+        XmlPathQuery types = XmlPathQuery.compile(XmlPath.of("/n:root/n:info/@type", Map.of("n", NS)));
+
+        XmlDocument doc1 = XmlTestUtil.parse("<n:root xmlns:n=\"urn:n\">"
+            + "<n:info type=\"a\"><n:title>A</n:title></n:info><n:info><n:sub/></n:info>"
+            + "<n:info type=\"b\"><n:title>B</n:title><n:title>C</n:title></n:info>"
+            + "</n:root>");
+        XmlDocument doc2 = XmlTestUtil.parse("<n:root xmlns:n=\"urn:n\"><n:info><n:sub/></n:info></n:root>");
+
+        Assertions.assertEquals(List.of("A", "B", "C"),
+            titles.queryElements(doc1).stream().map(XmlElement::getText).toList());
+        Assertions.assertEquals("A", titles.queryFirstElement(doc1).getText());
+        Assertions.assertEquals(List.of("a", "b"), types.queryAttributes(doc1));
+        Assertions.assertEquals("a", types.queryFirstAttribute(doc1));
+
+        Assertions.assertTrue(titles.queryElements(doc2).isEmpty());
+        Assertions.assertNull(titles.queryFirstElement(doc2));
+        Assertions.assertNull(types.queryFirstAttribute(doc2));
+
+        Assertions.assertThrows(XmlException.class, () -> titles.queryAttributes(doc1));
+        Assertions.assertThrows(XmlException.class, () -> types.queryElements(doc1));
+        Assertions.assertThrows(XmlException.class,
+            () -> XmlPathQuery.compile(XmlPath.of("/root/@type/title")));
+    }
+
+    @Test
+    public void childIndex() throws Exception {
+        StringBuilder xml = new StringBuilder("<root>");
+        for (int i = 0; i < 20; i++) {
+            xml.append(i % 2 == 0 ? "<a>" : "<b>").append(i).append(i % 2 == 0 ? "</a>" : "</b>");
+        }
+        XmlElement root = XmlTestUtil.parse(xml.append("</root>").toString()).getRoot();
+        XmlName a = new XmlName("a", XmlNamespace.EMPTY);
+        XmlName c = new XmlName("c", XmlNamespace.EMPTY);
+
+        Assertions.assertEquals(10, root.getElements(a).size());
+        Assertions.assertEquals("0", root.getElement(a).getText());
+
+        // the index follows changes of the children
+        root.addElement(new XmlElement("a"));
+        Assertions.assertEquals(11, root.getElements(a).size());
+        root.remove(root.getElement(a));
+        Assertions.assertEquals("2", root.getElement(a).getText());
+        root.getElement(a).setNamespace(NS);
+        Assertions.assertEquals("4", root.getElement(a).getText());
+        Assertions.assertEquals("2", root.getElement(new XmlName("a", NS)).getText());
+        Assertions.assertNull(root.getElement(c));
+        root.clear();
+        Assertions.assertTrue(root.getElements(a).isEmpty());
+    }
+
+}
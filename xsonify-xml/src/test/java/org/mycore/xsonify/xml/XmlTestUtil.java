@@ -0,0 +1,25 @@
+package org.mycore.xsonify.xml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared helpers for the xml test cases.
+ */
+final class XmlTestUtil {
+
+    private XmlTestUtil() {
+    }
+
+    /**
+     * Parses the given xml string with a new {@link XmlSaxParser}.
+     *
+     * @param xml the xml to parse
+     * @return the parsed document
+     * @throws Exception if the xml can't be parsed
+     */
+    static XmlDocument parse(String xml) throws Exception {
+        return new XmlSaxParser().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -3,6 +3,7 @@ package org.mycore.xsonify.xml;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class XmlTextTest {
 
@@ -21,6 +22,28 @@ public class XmlTextTest {
 
         XmlText xmlText2 = new XmlText(TEXT_NORMALIZED);
         assertEquals(TEXT_NORMALIZED, xmlText2.normalize());
+        // already normalized text is returned as it is
+        assertSame(TEXT_NORMALIZED, xmlText2.normalize());
+
+        assertEquals("", XmlText.normalize(""));
+        assertEquals("", XmlText.normalize(" \n\t "));
+        assertEquals("a b c", XmlText.normalize("  a \n b\t\tc  "));
+        assertEquals("a b", XmlText.normalize("a\u2003b"));
+        assertEquals("a\u00A0b", XmlText.normalize("a\u00A0b"));
+        assertEquals("a", XmlText.normalize("\u0001a\u0001"));
+    }
+
+    @Test
+    public void normalizeCache() {
+        XmlText text = new XmlText(" a  b ");
+        String normalized = text.normalize();
+        assertEquals("a b", normalized);
+        assertSame(normalized, text.normalize());
+
+        text.append(" c ");
+        assertEquals("a b c", text.normalize());
+        text.set("\nd\n");
+        assertEquals("d", text.normalize());
     }
 
 }
@@ -3,6 +3,7 @@ package org.mycore.xsonify.xsd;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -20,7 +21,9 @@ import org.mycore.xsonify.xml.XmlPath;
 import org.mycore.xsonify.xsd.node.XsdAttribute;
 import org.mycore.xsonify.xsd.node.XsdAttributeGroup;
 import org.mycore.xsonify.xsd.node.XsdComplexType;
+import org.mycore.xsonify.xsd.node.XsdDatatype;
 import org.mycore.xsonify.xsd.node.XsdElement;
+import org.mycore.xsonify.xsd.node.XsdExtension;
 import org.mycore.xsonify.xsd.node.XsdGroup;
 import org.mycore.xsonify.xsd.node.XsdNode;
 import org.mycore.xsonify.xsd.node.XsdSimpleType;
@@ -42,6 +45,11 @@ public class Xsd {
 
     private final LinkedHashMap<Class<? extends XsdNode>, Map<XmlExpandedName, XsdNode>> namedMap;
 
+    /**
+     * Unmodifiable prefix to namespaces index of all xsd documents. It is built once, when the xsd is created.
+     */
+    private final Map<String, Set<XmlNamespace>> namespaceIndex;
+
     /**
      * Constructor to initialize the XSD with the given target namespace and document map.
      *
@@ -53,6 +61,19 @@ public class Xsd {
         this.documentMap = documentMap;
         this.namedMap = new LinkedHashMap<>();
         NAMED_TYPES.forEach(type -> this.namedMap.put(type, new LinkedHashMap<>()));
+        this.namespaceIndex = buildNamespaceIndex(documentMap);
+    }
+
+    private static Map<String, Set<XmlNamespace>> buildNamespaceIndex(Map<String, XmlDocument> documentMap) {
+        LinkedHashMap<String, LinkedHashSet<XmlNamespace>> namespaces = new LinkedHashMap<>();
+        for (XmlDocument xmlDocument : documentMap.values()) {
+            xmlDocument.collectNamespaces().forEach((prefix, namespaceSet) -> {
+                namespaces.computeIfAbsent(prefix, k -> new LinkedHashSet<>()).addAll(namespaceSet);
+            });
+        }
+        LinkedHashMap<String, Set<XmlNamespace>> index = new LinkedHashMap<>();
+        namespaces.forEach((prefix, namespaceSet) -> index.put(prefix, Collections.unmodifiableSet(namespaceSet)));
+        return Collections.unmodifiableMap(index);
     }
 
     /**
@@ -251,6 +272,10 @@ public class Xsd {
         for (XsdNode childNode : node.getChildren()) {
             collect(childNode, type, collection);
         }
+        XsdDatatype detachedBase = getDetachedBase(node);
+        if (detachedBase != null) {
+            collect(detachedBase, type, collection);
+        }
     }
 
     /**
@@ -314,6 +339,10 @@ public class Xsd {
         for (XsdNode childNode : node.getChildren()) {
             collect(childNode, types, collection);
         }
+        XsdDatatype detachedBase = getDetachedBase(node);
+        if (detachedBase != null) {
+            collect(detachedBase, types, collection);
+        }
     }
 
     /**
@@ -343,6 +372,29 @@ public class Xsd {
         for (XsdNode childNode : node.getChildren()) {
             collectAll(childNode, collection);
         }
+        XsdDatatype detachedBase = getDetachedBase(node);
+        if (detachedBase != null) {
+            collectAll(detachedBase, collection);
+        }
+    }
+
+    /**
+     * Returns the linked base of the given extension node if the base is not reachable through the named nodes
+     * anymore. This is the case if the base type was replaced by a xs:redefine. The content of such a base is
+     * still inherited by the extension and therefore has to be part of the node collection.
+     *
+     * @param node the node to check
+     * @return the detached base or null
+     */
+    private XsdDatatype getDetachedBase(XsdNode node) {
+        if (!(node instanceof XsdExtension extension)) {
+            return null;
+        }
+        XsdDatatype base = extension.getLinkedBase();
+        if (base == null || getNamedNode(base.getClass(), base.getName()) == base) {
+            return null;
+        }
+        return base;
     }
 
     public Map<String, XmlDocument> getDocumentMap() {
@@ -350,30 +402,26 @@ public class Xsd {
     }
 
     /**
-     * Collects all the namespaces available. This runs through all xsd documents and their children.
+     * Returns all the namespaces available in the xsd documents and their children. The namespaces are collected
+     * once when the xsd is created; this method returns a modifiable copy.
      *
      * @return map of prefix : namespace set
      */
     public LinkedHashMap<String, LinkedHashSet<XmlNamespace>> collectNamespaces() {
         LinkedHashMap<String, LinkedHashSet<XmlNamespace>> namespaces = new LinkedHashMap<>();
-        documentMap.values().stream()
-            .flatMap(xmlDocument -> xmlDocument.collectNamespaces().entrySet().stream())
-            .forEach(entry -> {
-                namespaces.putIfAbsent(entry.getKey(), new LinkedHashSet<>());
-                namespaces.get(entry.getKey()).addAll(entry.getValue());
-            });
+        namespaceIndex.forEach((prefix, namespaceSet) -> namespaces.put(prefix, new LinkedHashSet<>(namespaceSet)));
         return namespaces;
     }
 
     /**
-     * Collects the namespaces which are matching the given prefix. This runs through all xsd documents and their
-     * children.
+     * Returns the namespaces which are matching the given prefix. This is a lookup in the namespace index which is
+     * built when the xsd is created.
      *
      * @param prefix the namespace prefix
-     * @return set of namespaces which match the prefix
+     * @return unmodifiable set of namespaces which match the prefix or null if the prefix is not used
      */
     public Set<XmlNamespace> collectNamespaces(String prefix) {
-        return collectNamespaces().get(prefix);
+        return namespaceIndex.get(prefix);
     }
 
     /**
@@ -538,16 +586,14 @@ public class Xsd {
     private XsdElement resolvePathForElement(XsdElement parent, XmlName elementToFind) throws XsdAnyException,
         XsdNoSuchNodeException, XsdAmbiguousNodeException {
         XmlExpandedName name = elementToFind.expandedName();
-        List<XsdElement> children = parent.collectElements();
-        Set<XsdElement> candidates = new LinkedHashSet<>();
-        for (XsdElement childNode : children) {
-            XsdElement namedNode = childNode.getReferenceOrSelf();
+        List<XsdElement> candidates = new ArrayList<>();
+        for (XsdElement namedNode : parent.collectElements(name.local())) {
             if (namedNode.getName().equals(name)) {
                 candidates.add(namedNode);
             }
         }
         if (candidates.size() == 1) {
-            return candidates.iterator().next();
+            return candidates.get(0);
         }
         if (!candidates.isEmpty()) {
             throw new XsdAmbiguousNodeException("Ambiguous element definition found for '" + name + "': " + candidates);
@@ -50,12 +50,14 @@ public class XsdDependencySorter<T> {
     public List<T> sort(Collection<T> collection, Function<T, Link> dependencyExtractor) {
         Map<String, Set<String>> graph = new HashMap<>();
         Set<String> nodes = new HashSet<>();
+        Map<Link, List<T>> itemMap = new HashMap<>();
 
         for (T item : collection) {
             Link link = dependencyExtractor.apply(item);
             nodes.add(link.from);
             nodes.add(link.to);
             graph.computeIfAbsent(link.from, k -> new HashSet<>()).add(link.to);
+            itemMap.computeIfAbsent(link, k -> new ArrayList<>()).add(item);
         }
 
         List<String> sortedNodes = new ArrayList<>();
@@ -71,12 +73,7 @@ public class XsdDependencySorter<T> {
         List<T> sortedList = new ArrayList<>();
         for (String node : sortedNodes) {
             for (String local : graph.getOrDefault(node, Collections.emptySet())) {
-                for (T item : collection) {
-                    Link link = dependencyExtractor.apply(item);
-                    if (node.equals(link.from()) && local.equals(link.to())) {
-                        sortedList.add(item);
-                    }
-                }
+                sortedList.addAll(itemMap.get(new Link(node, local)));
             }
         }
 
@@ -8,6 +8,7 @@ import org.mycore.xsonify.xml.XmlNamespace;
 import org.mycore.xsonify.xml.XmlQualifiedName;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -76,7 +77,7 @@ public class XsdDocument extends XmlDocument {
                 expandAttribute(element, attribute.getLocalName(), attribute.getValue());
             }
         }
-        for (XmlElement xmlElement : element.getElements()) {
+        for (XmlElement xmlElement : element.getElementsView()) {
             expandAttributes(xmlElement);
         }
     }
@@ -120,7 +121,7 @@ public class XsdDocument extends XmlDocument {
      * @return
      */
     private Map<String, XmlNamespace> getAttributeNamespaceMap(XmlElement element) {
-        Map<String, XmlNamespace> nsMap = element.getNamespacesInScope();
+        Map<String, XmlNamespace> nsMap = new LinkedHashMap<>(element.getNamespacesInScope());
         nsMap.put(XmlNamespace.EMPTY.prefix(), new XmlNamespace(XmlNamespace.EMPTY.prefix(), getTargetNamespace()));
         nsMap.putIfAbsent(XmlNamespace.XMLNS.prefix(), XmlNamespace.XMLNS);
         return nsMap;
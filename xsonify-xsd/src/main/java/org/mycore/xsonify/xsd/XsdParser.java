@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -177,7 +176,7 @@ public class XsdParser {
         }
 
         private void resolve(XmlDocument document) throws XsdParseException {
-            for (XmlElement element : document.getRoot().getElements()) {
+            for (XmlElement element : document.getRoot().getElementsView()) {
                 String type = element.getLocalName();
                 if (type == null) {
                     continue;
@@ -271,7 +270,7 @@ public class XsdParser {
          * @throws XsdParseException if unable to resolve the fragment.
          */
         public void resolve(Fragment fragment) throws XsdParseException {
-            for (XmlElement element : fragment.document().getRoot().getElements()) {
+            for (XmlElement element : fragment.document().getRoot().getElementsView()) {
                 resolve(fragment, element);
             }
         }
@@ -359,7 +358,7 @@ public class XsdParser {
         }
 
         private void createRootNodes(XsdDocument document) throws XsdParseException {
-            for (XmlElement element : document.getRoot().getElements()) {
+            for (XmlElement element : document.getRoot().getElementsView()) {
                 // xs:redefine
                 if (element.getLocalName().equals(REDEFINE_DIRECTIVE)) {
                     createRedefine(document, element);
@@ -388,7 +387,7 @@ public class XsdParser {
             String sourceLocation = document.getSchemaLocation();
             String targetLocation = redefineElement.getAttribute("schemaLocation");
             List<XsdNode> childNodes = new ArrayList<>();
-            for (XmlElement childElement : redefineElement.getElements()) {
+            for (XmlElement childElement : redefineElement.getElementsView()) {
                 XsdNode node = createNode(uri, childElement, null);
                 childNodes.add(node);
             }
@@ -423,7 +422,7 @@ public class XsdParser {
         }
 
         private void resolveChildren(XsdNode parentNode) throws XsdParseException {
-            for (XmlElement childElement : parentNode.getElement().getElements()) {
+            for (XmlElement childElement : parentNode.getElement().getElementsView()) {
                 try {
                     XsdNode childNode = createAndAddNode(parentNode.getUri(), childElement, parentNode);
                     if (childNode != null) {
@@ -536,19 +535,21 @@ public class XsdParser {
             replaceWithRedefineNode(restrictionNodes);
         }
 
+        /**
+         * Resolves the given extension nodes. Linking only sets the base of each extension, the content of the base
+         * is shared by reference and not copied. So the result doesn't depend on the order in which the extensions
+         * are linked, an extension whose base is itself an extension sees the complete base once all are linked.
+         *
+         * @param extensionNodes the extension nodes to resolve
+         */
         private void resolveExtensions(List<XsdExtension> extensionNodes) {
-            resolveNodesWithPredicate(new ArrayList<>(extensionNodes),
-                (changed, unresolvedExtensionList, extensionNode) -> {
-                    if (hasUnresolvedSubExtension(extensionNode.getBase())) {
-                        unresolvedExtensionList.add(extensionNode);
-                    } else {
-                        XsdDatatype baseDatatype = extensionNode.getBase();
-                        linkExtensionNode(extensionNode, baseDatatype);
-                        extensionNode.setResolved(true);
-                        return true;
-                    }
-                    return changed;
-                });
+            for (XsdExtension extensionNode : extensionNodes) {
+                if (extensionNode.isResolved()) {
+                    continue;
+                }
+                linkExtensionNode(extensionNode, extensionNode.getBase());
+                extensionNode.setResolved(true);
+            }
         }
 
         private void resolveUnion(XsdUnion union) throws XsdParseException {
@@ -578,37 +579,16 @@ public class XsdParser {
             }
         }
 
-        private <T> void resolveNodesWithPredicate(Collection<T> nodes,
-            TriFunction<Boolean, List<T>, T, Boolean> isChanged) {
-            boolean changed;
-            do {
-                List<T> unresolvedList = new ArrayList<>();
-                changed = false;
-                for (T node : nodes) {
-                    changed = isChanged.apply(changed, unresolvedList, node);
-                }
-                nodes.clear();
-                nodes.addAll(unresolvedList);
-            } while (!nodes.isEmpty() && changed);
-        }
-
-        private boolean hasUnresolvedSubExtension(XsdNode node) {
-            List<XsdExtension> extensions = xsd.collect(node, XsdExtension.class);
-            return extensions.stream()
-                .anyMatch(extension -> !extension.isResolved() && extension.getBase() != null);
-        }
-
-        private void linkExtensionNode(XsdExtension extensionNode, XsdNode baseNode) {
-            List<XsdNode> children = baseNode.getChildren();
-            if (children.isEmpty()) {
-                // TODO handle simple type stuff -> no test case found yet -> can this be removed?
-                return;
-            }
-            for (int i = children.size() - 1; i >= 0; i--) {
-                XsdNode baseChildNode = children.get(i);
-                XsdNode clonedBaseChildNode = cloneTo(baseChildNode, extensionNode);
-                extensionNode.getChildren().add(0, clonedBaseChildNode);
-            }
+        /**
+         * Links the base datatype to the extension node. The content of the base is not copied, instead it is
+         * shared by reference. After parsing, the base is immutable, so this is safe and keeps the memory footprint
+         * proportional to the schema size instead of the inheritance fan-out.
+         *
+         * @param extensionNode the extension node
+         * @param baseNode      the base datatype
+         */
+        private void linkExtensionNode(XsdExtension extensionNode, XsdDatatype baseNode) {
+            extensionNode.setLinkedBase(baseNode);
         }
 
         private Class<? extends XsdNode> getNodeClass(XmlElement element) {
@@ -645,24 +625,6 @@ public class XsdParser {
             return node;
         }
 
-        /**
-         * Clones the baseNode and all of its children.
-         *
-         * @param baseNode  node to clone
-         * @param newParent the newParent node
-         * @return the cloned node
-         */
-        private XsdNode cloneTo(XsdNode baseNode, XsdNode newParent) {
-            XsdNode clone = baseNode.clone();
-            clone.setParent(newParent);
-            return clone;
-        }
-
-        @FunctionalInterface
-        private interface TriFunction<T, U, V, R> {
-            R apply(T t, U u, V v);
-        }
-
     }
 
     /**
@@ -2,10 +2,15 @@ package org.mycore.xsonify.xsd.node;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.mycore.xsonify.xml.XmlElement;
 import org.mycore.xsonify.xml.XmlExpandedName;
+import org.mycore.xsonify.xml.XmlNamespace;
 import org.mycore.xsonify.xsd.Xsd;
 import org.mycore.xsonify.xsd.XsdBuiltInDatatypes;
 import org.mycore.xsonify.xsd.XsdParser;
@@ -60,8 +65,17 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
 
     private List<XsdElement> elementCache;
 
+    /**
+     * Resolved child elements by local name, see {@link #collectElements(String)}.
+     */
+    private Map<String, List<XsdElement>> elementByLocalNameCache;
+
     private List<XsdAttribute> attributeCache;
 
+    private List<FixedAttribute> fixedAttributeCache;
+
+    private Map<String, XmlNamespace> namespaceScopeCache;
+
     /**
      * Indicates that this node has a xs:any element. It's not necessary a child, but somewhere down the hierarchy
      * in a xs:sequence or xs:choice.
@@ -132,7 +146,10 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
      */
     public void buildCache() {
         this.collectElements();
+        this.collectElementsByLocalName();
         this.collectAttributes();
+        this.collectFixedAttributes();
+        this.getNamespacesInScope();
         this.hasAny();
         this.hasAnyAttribute();
     }
@@ -142,7 +159,10 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
      */
     public void clearCache() {
         this.elementCache = null;
+        this.elementByLocalNameCache = null;
         this.attributeCache = null;
+        this.fixedAttributeCache = null;
+        this.namespaceScopeCache = null;
         this.hasAny = null;
         this.hasAnyAttribute = null;
     }
@@ -162,6 +182,35 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
         return Collections.unmodifiableList(this.elementCache);
     }
 
+    /**
+     * <p>Returns the distinct element definitions with the given local name which can appear under this node.
+     * References are resolved, so the returned elements are the named elements. A list with more than one element
+     * means that the local name is ambiguous and the namespace is required to choose the element.</p>
+     * <p>The lookup table is built on the first call. If the xsd structure has changed, you have to call
+     * {@link Xsd#clearCache()} manually to avoid receiving incorrect data.</p>
+     *
+     * @param localName local name of the element
+     * @return unmodifiable list of matching elements, empty if there is none
+     */
+    public List<XsdElement> collectElements(String localName) {
+        return collectElementsByLocalName().getOrDefault(localName, Collections.emptyList());
+    }
+
+    private Map<String, List<XsdElement>> collectElementsByLocalName() {
+        if (this.elementByLocalNameCache == null) {
+            Map<String, Set<XsdElement>> elementsByLocalName = new HashMap<>();
+            for (XsdElement element : collectElements()) {
+                XsdElement namedElement = element.getReferenceOrSelf();
+                elementsByLocalName.computeIfAbsent(namedElement.getLocalName(), k -> new LinkedHashSet<>())
+                    .add(namedElement);
+            }
+            Map<String, List<XsdElement>> cache = new HashMap<>();
+            elementsByLocalName.forEach((name, elements) -> cache.put(name, List.copyOf(elements)));
+            this.elementByLocalNameCache = cache;
+        }
+        return this.elementByLocalNameCache;
+    }
+
     /**
      * <p>Returns a list of all attribute nodes which can appear under this node.</p>
      * <p>Be aware that the result of this method is cached after it's first call. If the xsd structure has
@@ -189,6 +238,44 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
             .toList();
     }
 
+    /**
+     * <p>Returns the attributes with a fixed value which can appear under this node, in the order of
+     * {@link #collectAttributes()}. The name is taken from the referenced attribute, the fixed value from the
+     * attribute declaration or reference which defines it.</p>
+     * <p>Be aware that the result of this method is cached after it's first call. If the xsd structure has
+     * changed, you have to call {@link Xsd#clearCache()} manually to avoid receiving incorrect data.</p>
+     *
+     * @return unmodifiable list of fixed attributes
+     */
+    public List<FixedAttribute> collectFixedAttributes() {
+        if (this.fixedAttributeCache == null) {
+            List<FixedAttribute> fixedAttributes = new ArrayList<>();
+            for (XsdAttribute attribute : collectAttributes()) {
+                if (attribute.hasFixedValue()) {
+                    XmlExpandedName name = attribute.getReferenceOrSelf().getName();
+                    fixedAttributes.add(new FixedAttribute(name, attribute.getFixedValue()));
+                }
+            }
+            this.fixedAttributeCache = List.copyOf(fixedAttributes);
+        }
+        return this.fixedAttributeCache;
+    }
+
+    /**
+     * <p>Returns the namespaces in scope of the declaration of this element in its schema document. This can be
+     * used to resolve prefixes in the context of the schema.</p>
+     * <p>Be aware that the result of this method is cached after it's first call. If the xsd structure has
+     * changed, you have to call {@link Xsd#clearCache()} manually to avoid receiving incorrect data.</p>
+     *
+     * @return unmodifiable prefix:namespace map
+     */
+    public Map<String, XmlNamespace> getNamespacesInScope() {
+        if (this.namespaceScopeCache == null) {
+            this.namespaceScopeCache = getElement().getNamespacesInScope();
+        }
+        return this.namespaceScopeCache;
+    }
+
     public XsdAttribute getXsdAttribute(XmlExpandedName expandedName) {
         return collectAttributes().stream()
             .filter(attributeNode -> attributeNode.getReferenceOrSelf().getName().equals(expandedName))
@@ -273,4 +360,13 @@ public class XsdElement extends XsdNode implements XsdReferenceable<XsdElement>
         return nodes.stream().map(XsdElement::getReferenceOrSelf).toList();
     }
 
+    /**
+     * An attribute with a fixed value.
+     *
+     * @param name  expanded name of the attribute
+     * @param value the fixed value
+     */
+    public record FixedAttribute(XmlExpandedName name, String value) {
+    }
+
 }
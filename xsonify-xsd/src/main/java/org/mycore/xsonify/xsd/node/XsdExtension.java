@@ -3,12 +3,20 @@ package org.mycore.xsonify.xsd.node;
 import org.mycore.xsonify.xml.XmlElement;
 import org.mycore.xsonify.xsd.Xsd;
 
+import java.util.List;
+
 public class XsdExtension extends XsdTypeDerivation {
 
     public static final String TYPE = "extension";
 
     private boolean resolved;
 
+    /**
+     * The datatype this extension inherits its content from. The base is shared by reference and not copied into
+     * the children of this node.
+     */
+    private XsdDatatype linkedBase;
+
     /**
      * Constructs a new XsdNode.
      *
@@ -20,6 +28,7 @@ public class XsdExtension extends XsdTypeDerivation {
     public XsdExtension(Xsd xsd, String uri, XmlElement element, XsdNode parent) {
         super(xsd, uri, element, parent);
         this.resolved = false;
+        this.linkedBase = null;
     }
 
     @Override
@@ -35,10 +44,46 @@ public class XsdExtension extends XsdTypeDerivation {
         return resolved;
     }
 
+    /**
+     * Links the given base datatype to this extension. The content of the base is inherited by reference.
+     * <p>
+     * In contrast to {@link #getBase()}, which looks the base up by its name, the linked base stays the same even
+     * if the named node is replaced later on (e.g. by a xs:redefine).
+     *
+     * @param linkedBase the base datatype
+     */
+    public void setLinkedBase(XsdDatatype linkedBase) {
+        this.linkedBase = linkedBase;
+    }
+
+    /**
+     * Returns the base datatype this extension inherits its content from.
+     *
+     * @return the linked base datatype or null if this extension is not resolved yet or extends a built-in type
+     */
+    public XsdDatatype getLinkedBase() {
+        return linkedBase;
+    }
+
+    @Override
+    protected <T extends XsdNode> boolean collect(Class<T> type, List<Class<? extends XsdNode>> searchNodes,
+        List<T> found, List<XsdNode> visited) {
+        if (visited.contains(this)) {
+            return true;
+        }
+        // the base content always comes before the extension content
+        if (linkedBase != null) {
+            linkedBase.collect(type, searchNodes, found, visited);
+        }
+        return super.collect(type, searchNodes, found, visited);
+    }
+
     @Override
     public XsdExtension clone() {
         XsdExtension extension = new XsdExtension(getXsd(), getUri(), getElement(), getParent());
         extension.setBaseName(getBaseName());
+        extension.setLinkedBase(getLinkedBase());
+        extension.setResolved(isResolved());
         cloneChildren(extension);
         return extension;
     }
@@ -29,4 +29,22 @@ public class XsdDependencySorterTest {
         assertTrue(result.indexOf("b:c") > result.indexOf("d:c"));
     }
 
+    @Test
+    public void sortSameLink() {
+        XsdDependencySorter<String> sorter = new XsdDependencySorter<>();
+
+        List<String> graph = List.of("a:b#1", "b:c#1", "a:b#2", "b:c#2");
+
+        List<String> result = sorter.sort(graph, node -> {
+            String[] split = node.split("[:#]");
+            return new XsdDependencySorter.Link(split[0], split[1]);
+        });
+
+        assertEquals(4, result.size());
+        assertTrue(result.indexOf("a:b#1") > result.indexOf("b:c#1"));
+        assertTrue(result.indexOf("a:b#1") > result.indexOf("b:c#2"));
+        assertTrue(result.indexOf("a:b#2") > result.indexOf("b:c#1"));
+        assertTrue(result.indexOf("a:b#2") > result.indexOf("b:c#2"));
+    }
+
 }